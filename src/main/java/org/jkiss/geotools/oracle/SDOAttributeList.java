@@ -21,16 +21,20 @@ package org.jkiss.geotools.oracle;
 
 import java.lang.reflect.Array;
 import java.util.AbstractList;
+import java.util.RandomAccess;
 
 /**
  * Used to provide a List API of an ordinate array.
  *
  * <p>Insertions are not supported
  *
+ * <p>double, int and long arrays are read directly, other arrays through reflection. Use
+ * getDouble, copyTo or toAttributeArray rather than get, which boxes every value.
+ *
  * @author jgarnett, Refractions Reasearch Inc.
  * @version CVS Version
  */
-public class SDOAttributeList extends AbstractList {
+public class SDOAttributeList extends AbstractList<Object> implements RandomAccess {
     final Object ARRAY;
     final int OFFSET;
     final int LEN;
@@ -39,6 +43,15 @@ public class SDOAttributeList extends AbstractList {
     final int END;
     final int STEP;
 
+    /** ARRAY when a double[], otherwise null */
+    private final double[] DOUBLES;
+
+    /** ARRAY when an int[], otherwise null */
+    private final int[] INTS;
+
+    /** ARRAY when a long[], otherwise null */
+    private final long[] LONGS;
+
     public SDOAttributeList(Object array) {
         this(array, 0, 1);
     }
@@ -59,6 +72,10 @@ public class SDOAttributeList extends AbstractList {
         if (!ARRAY.getClass().isArray())
             throw new IllegalArgumentException("Provided argument was not an array");
 
+        DOUBLES = array instanceof double[] ? (double[]) array : null;
+        INTS = array instanceof int[] ? (int[]) array : null;
+        LONGS = array instanceof long[] ? (long[]) array : null;
+
         if (Array.getLength(ARRAY) % LEN != 0) {
             throw new IllegalArgumentException(
                     "You have requested SDOCoordinates of "
@@ -78,24 +95,103 @@ public class SDOAttributeList extends AbstractList {
      */
     public Object get(int index) {
         rangeCheck(index);
-        return Array.get(ARRAY, START + STEP * index + OFFSET);
+        final int INDEX = START + STEP * index + OFFSET;
+        if (DOUBLES != null) {
+            return Double.valueOf(DOUBLES[INDEX]);
+        } else if (INTS != null) {
+            return Integer.valueOf(INTS[INDEX]);
+        } else if (LONGS != null) {
+            return Long.valueOf(LONGS[INDEX]);
+        }
+        return Array.get(ARRAY, INDEX);
     }
     /** Quick double access */
     public double getDouble(int index) {
         rangeCheck(index);
-        return Array.getDouble(
-                ARRAY, START + STEP * index + OFFSET); // ARRAY[ START+STEP*index + OFFSET ];
+        final int INDEX = START + STEP * index + OFFSET;
+        if (DOUBLES != null) {
+            return DOUBLES[INDEX];
+        } else if (INTS != null) {
+            return INTS[INDEX];
+        } else if (LONGS != null) {
+            return LONGS[INDEX];
+        }
+        return Array.getDouble(ARRAY, INDEX);
     }
 
     public String getString(int index) {
-        rangeCheck(index);
-        return Array.get(ARRAY, START + STEP * index + OFFSET).toString();
+        return get(index).toString();
+    }
+
+    /**
+     * Copies all values into array as doubles, starting at offset.
+     *
+     * @return index following the last value written
+     * @throws IllegalArgumentException if values cannot be widened to double
+     */
+    public int copyTo(double[] array, int offset) {
+        final int FIRST = START + OFFSET;
+        final int STOP = offset + SIZE;
+        if (DOUBLES != null) {
+            if (STEP == 1) {
+                System.arraycopy(DOUBLES, FIRST, array, offset, SIZE);
+            } else {
+                for (int i = offset, index = FIRST; i < STOP; i++, index += STEP) {
+                    array[i] = DOUBLES[index];
+                }
+            }
+        } else if (INTS != null) {
+            for (int i = offset, index = FIRST; i < STOP; i++, index += STEP) {
+                array[i] = INTS[index];
+            }
+        } else if (LONGS != null) {
+            for (int i = offset, index = FIRST; i < STOP; i++, index += STEP) {
+                array[i] = LONGS[index];
+            }
+        } else {
+            for (int i = offset, index = FIRST; i < STOP; i++, index += STEP) {
+                array[i] = Array.getDouble(ARRAY, index);
+            }
+        }
+        return STOP;
     }
 
     public double[] toDoubleArray() {
-        double array[] = new double[size()];
-        for (int i = 0; i < size(); i++) {
-            array[i] = getDouble(i);
+        double array[] = new double[SIZE];
+        copyTo(array, 0);
+        return array;
+    }
+
+    /**
+     * Values in an array of the same component type, primitive columns stay primitive.
+     *
+     * <p>Used to take a sub range, or the reverse, of a CoordinateAccess attribute column.
+     */
+    public Object toAttributeArray() {
+        final int FIRST = START + OFFSET;
+        if (STEP == 1) {
+            Object array = Array.newInstance(ARRAY.getClass().getComponentType(), SIZE);
+            System.arraycopy(ARRAY, FIRST, array, 0, SIZE);
+            return array;
+        }
+        if (DOUBLES != null) {
+            return toDoubleArray();
+        } else if (INTS != null) {
+            int[] array = new int[SIZE];
+            for (int i = 0, index = FIRST; i < SIZE; i++, index += STEP) {
+                array[i] = INTS[index];
+            }
+            return array;
+        } else if (LONGS != null) {
+            long[] array = new long[SIZE];
+            for (int i = 0, index = FIRST; i < SIZE; i++, index += STEP) {
+                array[i] = LONGS[index];
+            }
+            return array;
+        }
+        Object array = Array.newInstance(ARRAY.getClass().getComponentType(), SIZE);
+        for (int i = 0, index = FIRST; i < SIZE; i++, index += STEP) {
+            Array.set(array, i, Array.get(ARRAY, index));
         }
         return array;
     }
@@ -0,0 +1,450 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2014, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * Linearization of SDO circular arcs (INTERPRETATION 2) and circles (INTERPRETATION 4).
+ *
+ * <p>Arcs are defined by three points: a start point, any point on the arc and the end point. The
+ * arc is approximated with segments of equal angle, the number of segments per quadrant grows
+ * with the radius until the distance between the arc and its chords is within the tolerance. It
+ * never drops below {@link #BASE_SEGMENTS_QUADRANT} or exceeds {@link #MAX_SEGMENTS_QUADRANT}.
+ *
+ * <p>The rotation for each segment count is computed once, and the radius limit of each segment
+ * count is computed once per tolerance, so linearizing an arc only needs a few divisions and two
+ * atan2 calls. Points are written directly into a packed ordinate array; ordinates beyond x and y
+ * (z and measures) are interpolated along the arc.
+ *
+ * <p>Instances are immutable and can be shared between threads.
+ */
+public final class SDOCircularArcs {
+    /** Minimum number of segments used to linearize a quarter circle */
+    public static final int BASE_SEGMENTS_QUADRANT = 12;
+
+    /** Maximum number of segments used to linearize a quarter circle */
+    public static final int MAX_SEGMENTS_QUADRANT = 1024;
+
+    private static final double HALF_PI = Math.PI / 2;
+
+    private static final double TWO_PI = Math.PI * 2;
+
+    /** cos and sin of the step angle (PI/2)/n, indexed by segments per quadrant n */
+    private static final double[] COS = new double[MAX_SEGMENTS_QUADRANT + 1];
+
+    private static final double[] SIN = new double[MAX_SEGMENTS_QUADRANT + 1];
+
+    /** 1 - cos(step/2), the chord error of a unit circle, indexed by segments per quadrant */
+    private static final double[] SAGITTA = new double[MAX_SEGMENTS_QUADRANT + 1];
+
+    static {
+        for (int n = 1; n <= MAX_SEGMENTS_QUADRANT; n++) {
+            double step = HALF_PI / n;
+            COS[n] = Math.cos(step);
+            SIN[n] = Math.sin(step);
+            double s = Math.sin(step / 4);
+            SAGITTA[n] = 2 * s * s;
+        }
+    }
+
+    /** Linearizer always using {@link #BASE_SEGMENTS_QUADRANT} */
+    public static final SDOCircularArcs DEFAULT = new SDOCircularArcs(Double.POSITIVE_INFINITY);
+
+    private final double tolerance;
+
+    /** Largest radius linearized within tolerance, indexed by segments per quadrant */
+    private final double[] maxRadius;
+
+    /**
+     * Linearizer for the provided tolerance.
+     *
+     * @param tolerance Maximum distance between the arc and its linearization, use
+     *     Double.POSITIVE_INFINITY to always use {@link #BASE_SEGMENTS_QUADRANT}
+     */
+    public SDOCircularArcs(double tolerance) {
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Arc tolerance must be positive: " + tolerance);
+        }
+        this.tolerance = tolerance;
+        this.maxRadius = new double[MAX_SEGMENTS_QUADRANT + 1];
+        for (int n = BASE_SEGMENTS_QUADRANT; n <= MAX_SEGMENTS_QUADRANT; n++) {
+            maxRadius[n] = tolerance / SAGITTA[n];
+        }
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Number of segments used to linearize a quarter circle of the provided radius.
+     *
+     * @param radius circle radius
+     * @return segments per quadrant between BASE_SEGMENTS_QUADRANT and MAX_SEGMENTS_QUADRANT
+     */
+    public int segmentsPerQuadrant(double radius) {
+        if (radius <= maxRadius[BASE_SEGMENTS_QUADRANT]) {
+            return BASE_SEGMENTS_QUADRANT;
+        }
+        if (!(radius <= maxRadius[MAX_SEGMENTS_QUADRANT])) {
+            return MAX_SEGMENTS_QUADRANT;
+        }
+        int low = BASE_SEGMENTS_QUADRANT;
+        int high = MAX_SEGMENTS_QUADRANT;
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (radius <= maxRadius[mid]) {
+                high = mid;
+            } else {
+                low = mid;
+            }
+        }
+        return high;
+    }
+
+    //
+    // Arc strings
+    //
+
+    /**
+     * Number of points produced by linearizing an arc string, including its start point.
+     *
+     * @param cs coordinates holding the arc string
+     * @param from index of the first point (inclusive)
+     * @param to index after the last point (exclusive), <code>to - from</code> must be odd
+     * @return number of points produced by arcString
+     */
+    public int arcStringSize(CoordinateSequence cs, int from, int to) {
+        checkArcString(from, to);
+        int size = 1;
+        for (int i = from; i + 2 < to; i += 2) {
+            size += arcSize(cs.getX(i), cs.getY(i), cs.getX(i + 1), cs.getY(i + 1),
+                    cs.getX(i + 2), cs.getY(i + 2));
+        }
+        return size;
+    }
+
+    /**
+     * Linearize an arc string of connected arcs (start, any, end point), the end point of one arc
+     * is the start point of the next.
+     *
+     * @param cs coordinates holding the arc string
+     * @param from index of the first point (inclusive)
+     * @param to index after the last point (exclusive), <code>to - from</code> must be odd
+     * @param out packed ordinate array to write into
+     * @param point index of the first point to write in <code>out</code>
+     * @param dimension number of ordinates per point in <code>out</code>
+     * @param includeStart <code>false</code> to skip the first point (already written by the
+     *     previous element of a compound)
+     * @return index of the point following the last point written
+     */
+    public int arcString(
+            CoordinateSequence cs,
+            int from,
+            int to,
+            double[] out,
+            int point,
+            int dimension,
+            boolean includeStart) {
+        checkArcString(from, to);
+        if (includeStart) {
+            copy(cs, from, out, point++, dimension);
+        }
+        for (int i = from; i + 2 < to; i += 2) {
+            point = arc(cs, i, out, point, dimension);
+        }
+        return point;
+    }
+
+    private static void checkArcString(int from, int to) {
+        int count = to - from;
+        if (count < 3 || count % 2 != 1) {
+            throw new IllegalArgumentException(
+                    "An arc string requires an odd number of points (at least 3), not " + count);
+        }
+    }
+
+    /** Number of points produced for an arc, excluding its start point. */
+    private int arcSize(double x0, double y0, double x1, double y1, double x2, double y2) {
+        double bx = x1 - x0, by = y1 - y0;
+        double cx = x2 - x0, cy = y2 - y0;
+        double d = 2 * (bx * cy - by * cx);
+        if (d == 0 || !Double.isFinite(d)) {
+            return 2; // collinear, kept as straight segments
+        }
+        double b2 = bx * bx + by * by;
+        double c2 = cx * cx + cy * cy;
+        double ux = (cy * b2 - by * c2) / d;
+        double uy = (bx * c2 - cx * b2) / d;
+        double radius = Math.sqrt(ux * ux + uy * uy);
+        if (!Double.isFinite(radius)) {
+            return 2;
+        }
+        int n = segmentsPerQuadrant(radius);
+        double sweep = sweep(-ux, -uy, cx - ux, cy - uy, d > 0);
+        return segments(sweep, n);
+    }
+
+    private static int segments(double sweep, int n) {
+        int segments = (int) Math.ceil(Math.abs(sweep) / (HALF_PI / n) - 1e-6);
+        return Math.max(segments, 1);
+    }
+
+    /** Angle swept from the start to the end vector, positive counter clockwise. */
+    private static double sweep(double sx, double sy, double ex, double ey, boolean ccw) {
+        double sweep = Math.atan2(ey, ex) - Math.atan2(sy, sx);
+        if (ccw) {
+            if (sweep <= 0) sweep += TWO_PI;
+        } else {
+            if (sweep >= 0) sweep -= TWO_PI;
+        }
+        return sweep;
+    }
+
+    /** Writes the arc (i, i+1, i+2) excluding its start point. */
+    private int arc(CoordinateSequence cs, int i, double[] out, int point, int dimension) {
+        final double x0 = cs.getX(i), y0 = cs.getY(i);
+        final double bx = cs.getX(i + 1) - x0, by = cs.getY(i + 1) - y0;
+        final double cx = cs.getX(i + 2) - x0, cy = cs.getY(i + 2) - y0;
+        final double d = 2 * (bx * cy - by * cx);
+        double radius = Double.NaN;
+        double ux = 0, uy = 0;
+        if (d != 0 && Double.isFinite(d)) {
+            double b2 = bx * bx + by * by;
+            double c2 = cx * cx + cy * cy;
+            ux = (cy * b2 - by * c2) / d;
+            uy = (bx * c2 - cx * b2) / d;
+            radius = Math.sqrt(ux * ux + uy * uy);
+        }
+        if (!Double.isFinite(radius)) {
+            // collinear points, not an arc
+            copy(cs, i + 1, out, point++, dimension);
+            copy(cs, i + 2, out, point++, dimension);
+            return point;
+        }
+        final boolean ccw = d > 0;
+        final int n = segmentsPerQuadrant(radius);
+        final double sweep = Math.abs(sweep(-ux, -uy, cx - ux, cy - uy, ccw));
+        final double midSweep = Math.abs(sweep(-ux, -uy, bx - ux, by - uy, ccw));
+        final int segments = segments(sweep, n);
+        final double step = HALF_PI / n;
+        final double cos = COS[n];
+        final double sin = ccw ? SIN[n] : -SIN[n];
+        final double centerX = x0 + ux, centerY = y0 + uy;
+
+        double dx = -ux, dy = -uy;
+        for (int k = 1; k < segments; k++) {
+            double rx = dx * cos - dy * sin;
+            dy = dx * sin + dy * cos;
+            dx = rx;
+            int offset = point * dimension;
+            out[offset] = centerX + dx;
+            out[offset + 1] = centerY + dy;
+            if (dimension > 2) {
+                interpolate(cs, i, (k * step) / sweep, midSweep / sweep, out, offset, dimension);
+            }
+            point++;
+        }
+        copy(cs, i + 2, out, point++, dimension);
+        return point;
+    }
+
+    /** Interpolates z and measures, piecewise linear through the arc mid point. */
+    private static void interpolate(
+            CoordinateSequence cs, int i, double t, double tMid, double[] out, int offset, int dimension) {
+        for (int j = 2; j < dimension; j++) {
+            double v0 = cs.getOrdinate(i, j);
+            double v1 = cs.getOrdinate(i + 1, j);
+            double v2 = cs.getOrdinate(i + 2, j);
+            double value;
+            if (t <= tMid) {
+                value = tMid > 0 ? v0 + (v1 - v0) * (t / tMid) : v1;
+            } else {
+                value = tMid < 1 ? v1 + (v2 - v1) * ((t - tMid) / (1 - tMid)) : v1;
+            }
+            out[offset + j] = value;
+        }
+    }
+
+    //
+    // Circles
+    //
+
+    /**
+     * Number of points produced by linearizing a circle, including the closing point.
+     *
+     * @param cs coordinates holding three distinct points on the circle
+     * @param from index of the first of the three points
+     */
+    public int circleSize(CoordinateSequence cs, int from) {
+        double radius = circle(cs, from, null);
+        return 4 * segmentsPerQuadrant(radius) + 1;
+    }
+
+    /**
+     * Linearize the circle through three points as a closed ring starting at the first point.
+     *
+     * @param cs coordinates holding three distinct points on the circle
+     * @param from index of the first of the three points
+     * @param clockwise <code>true</code> for a clockwise (interior) ring
+     * @param out packed ordinate array to write into
+     * @param point index of the first point to write in <code>out</code>
+     * @param dimension number of ordinates per point in <code>out</code>
+     * @return index of the point following the last point written
+     */
+    public int circle(
+            CoordinateSequence cs,
+            int from,
+            boolean clockwise,
+            double[] out,
+            int point,
+            int dimension) {
+        double[] center = new double[2];
+        double radius = circle(cs, from, center);
+        final int n = segmentsPerQuadrant(radius);
+        final int segments = 4 * n;
+        final double cos = COS[n];
+        final double sin = clockwise ? -SIN[n] : SIN[n];
+        double dx = cs.getX(from) - center[0];
+        double dy = cs.getY(from) - center[1];
+
+        final int start = point;
+        copy(cs, from, out, point++, dimension);
+        for (int k = 1; k < segments; k++) {
+            double rx = dx * cos - dy * sin;
+            dy = dx * sin + dy * cos;
+            dx = rx;
+            int offset = point * dimension;
+            out[offset] = center[0] + dx;
+            out[offset + 1] = center[1] + dy;
+            for (int j = 2; j < dimension; j++) {
+                out[offset + j] = out[start * dimension + j];
+            }
+            point++;
+        }
+        copy(cs, from, out, point++, dimension);
+        return point;
+    }
+
+    /** Computes the center of the circle through three points, returning its radius. */
+    private static double circle(CoordinateSequence cs, int from, double[] center) {
+        final double x0 = cs.getX(from), y0 = cs.getY(from);
+        final double bx = cs.getX(from + 1) - x0, by = cs.getY(from + 1) - y0;
+        final double cx = cs.getX(from + 2) - x0, cy = cs.getY(from + 2) - y0;
+        final double d = 2 * (bx * cy - by * cx);
+        if (d == 0 || !Double.isFinite(d)) {
+            throw new IllegalArgumentException(
+                    "The three points defining a circle must be distinct and not collinear");
+        }
+        double b2 = bx * bx + by * by;
+        double c2 = cx * cx + cy * cy;
+        double ux = (cy * b2 - by * c2) / d;
+        double uy = (bx * c2 - cx * b2) / d;
+        if (center != null) {
+            center[0] = x0 + ux;
+            center[1] = y0 + uy;
+        }
+        return Math.sqrt(ux * ux + uy * uy);
+    }
+
+    //
+    // Bounds
+    //
+
+    /**
+     * Expands env to include the arc from (x0,y0) through (x1,y1) to (x2,y2).
+     *
+     * <p>The bounds are exact: the end points and every axis extreme of the circle crossed by the
+     * arc are included. Collinear points are treated as straight segments.
+     */
+    public static void expandToIncludeArc(
+            Envelope env, double x0, double y0, double x1, double y1, double x2, double y2) {
+        env.expandToInclude(x0, y0);
+        env.expandToInclude(x2, y2);
+        final double bx = x1 - x0, by = y1 - y0;
+        final double cx = x2 - x0, cy = y2 - y0;
+        final double d = 2 * (bx * cy - by * cx);
+        if (d == 0 || !Double.isFinite(d)) {
+            env.expandToInclude(x1, y1);
+            return;
+        }
+        final double b2 = bx * bx + by * by;
+        final double c2 = cx * cx + cy * cy;
+        final double ux = (cy * b2 - by * c2) / d;
+        final double uy = (bx * c2 - cx * b2) / d;
+        final double radius = Math.sqrt(ux * ux + uy * uy);
+        if (!Double.isFinite(radius)) {
+            env.expandToInclude(x1, y1);
+            return;
+        }
+        final boolean ccw = d > 0;
+        final double centerX = x0 + ux, centerY = y0 + uy;
+        final double start = Math.atan2(-uy, -ux);
+        final double sweep = Math.abs(sweep(-ux, -uy, cx - ux, cy - uy, ccw));
+        // axis extremes at 0, PI/2, PI and 3PI/2
+        for (int k = 0; k < 4; k++) {
+            double delta = ccw ? k * HALF_PI - start : start - k * HALF_PI;
+            delta %= TWO_PI;
+            if (delta < 0) delta += TWO_PI;
+            if (delta <= sweep) {
+                switch (k) {
+                    case 0:
+                        env.expandToInclude(centerX + radius, centerY);
+                        break;
+                    case 1:
+                        env.expandToInclude(centerX, centerY + radius);
+                        break;
+                    case 2:
+                        env.expandToInclude(centerX - radius, centerY);
+                        break;
+                    default:
+                        env.expandToInclude(centerX, centerY - radius);
+                }
+            }
+        }
+    }
+
+    /** Expands env to include the circle through (x0,y0), (x1,y1) and (x2,y2). */
+    public static void expandToIncludeCircle(
+            Envelope env, double x0, double y0, double x1, double y1, double x2, double y2) {
+        final double bx = x1 - x0, by = y1 - y0;
+        final double cx = x2 - x0, cy = y2 - y0;
+        final double d = 2 * (bx * cy - by * cx);
+        if (d == 0 || !Double.isFinite(d)) {
+            throw new IllegalArgumentException(
+                    "The three points defining a circle must be distinct and not collinear");
+        }
+        final double b2 = bx * bx + by * by;
+        final double c2 = cx * cx + cy * cy;
+        final double ux = (cy * b2 - by * c2) / d;
+        final double uy = (bx * c2 - cx * b2) / d;
+        final double radius = Math.sqrt(ux * ux + uy * uy);
+        env.expandToInclude(x0 + ux - radius, y0 + uy - radius);
+        env.expandToInclude(x0 + ux + radius, y0 + uy + radius);
+    }
+
+    private static void copy(CoordinateSequence cs, int i, double[] out, int point, int dimension) {
+        int offset = point * dimension;
+        out[offset] = cs.getX(i);
+        out[offset + 1] = cs.getY(i);
+        for (int j = 2; j < dimension; j++) {
+            out[offset + j] = cs.getOrdinate(i, j);
+        }
+    }
+}
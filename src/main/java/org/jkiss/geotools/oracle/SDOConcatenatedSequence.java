@@ -0,0 +1,259 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Coordinates;
+import org.locationtech.jts.geom.Envelope;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * CoordinateSequence view over the part sequences of a geometry, one after the other, each in
+ * forward or reverse order.
+ *
+ * <p>Produced by SDOUtils.getCS(geom): coordinate i is the coordinate written at position i of
+ * SDOUtils.ordinates(geom), parts are not copied. Each coordinate has <code>D + L</code>
+ * ordinates, measures following the spatial ordinates, read the way SDOEncoder reads them.
+ * Changes made with setOrdinate are written through to the parts.
+ *
+ * <p>Example: polygon with a clockwise exterior ring
+ *
+ * <pre><code>
+ * new SDOConcatenatedSequence( new CoordinateSequence[]{ exterior }, new boolean[]{ true }, 2, 0 );
+ * </code></pre>
+ */
+public final class SDOConcatenatedSequence implements CoordinateSequence, Serializable {
+    private static final long serialVersionUID = -6205385470358216613L;
+
+    private final CoordinateSequence[] parts;
+
+    private final boolean[] reversed;
+
+    /** Index of the first coordinate of each part, followed by size */
+    private final int[] starts;
+
+    /** Ordinates per coordinate, including measures */
+    private final int dimension;
+
+    private final int measures;
+
+    /** Part of the last coordinate accessed, sequential access avoids the search */
+    private transient int hint;
+
+    /**
+     * View over parts.
+     *
+     * @param parts part sequences, not copied
+     * @param reversed parts read from last to first coordinate
+     * @param D number of spatial ordinates, 2 or 3
+     * @param L number of measures
+     */
+    public SDOConcatenatedSequence(
+            CoordinateSequence[] parts, boolean[] reversed, final int D, final int L) {
+        if (D < 2 || L < 0) {
+            throw new IllegalArgumentException(
+                    "Dimension " + D + " with " + L + " measures not supported");
+        }
+        if (parts.length != reversed.length) {
+            throw new IllegalArgumentException(
+                    parts.length + " parts with " + reversed.length + " reverse flags");
+        }
+        this.parts = parts;
+        this.reversed = reversed;
+        this.dimension = D + L;
+        this.measures = L;
+        this.starts = new int[parts.length + 1];
+        for (int p = 0; p < parts.length; p++) {
+            starts[p + 1] = starts[p] + parts[p].size();
+        }
+    }
+
+    /** Number of part sequences. */
+    public int getNumParts() {
+        return parts.length;
+    }
+
+    /** Part sequence n, not copied. */
+    public CoordinateSequence getPart(int n) {
+        return parts[n];
+    }
+
+    /** Checks if part n is read in reverse order. */
+    public boolean isReversed(int n) {
+        return reversed[n];
+    }
+
+    /** Index of the first coordinate of part n. */
+    public int getStart(int n) {
+        return starts[n];
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public int getMeasures() {
+        return measures;
+    }
+
+    public int size() {
+        return starts[parts.length];
+    }
+
+    /** Part holding coordinate i */
+    private int part(int i) {
+        int p = hint;
+        if (p < parts.length && starts[p] <= i && i < starts[p + 1]) {
+            return p;
+        }
+        if (i < 0 || i >= size()) {
+            throw new ArrayIndexOutOfBoundsException(i);
+        }
+        p = Arrays.binarySearch(starts, i);
+        if (p < 0) {
+            p = -p - 2;
+        }
+        while (starts[p + 1] == i) { // skip empty parts
+            p++;
+        }
+        hint = p;
+
+        return p;
+    }
+
+    /** Index of coordinate i in part p */
+    private int index(int p, int i) {
+        return reversed[p] ? starts[p + 1] - 1 - i : i - starts[p];
+    }
+
+    public Coordinate getCoordinate(int i) {
+        return getCoordinateCopy(i);
+    }
+
+    public Coordinate getCoordinateCopy(int i) {
+        Coordinate c = createCoordinate();
+        getCoordinate(i, c);
+        return c;
+    }
+
+    public void getCoordinate(int i, Coordinate coord) {
+        final int P = part(i);
+        final int INDEX = index(P, i);
+        coord.x = parts[P].getX(INDEX);
+        coord.y = parts[P].getY(INDEX);
+        for (int ordinate = 2; ordinate < dimension; ordinate++) {
+            coord.setOrdinate(ordinate, ordinate(parts[P], INDEX, ordinate));
+        }
+    }
+
+    public Coordinate createCoordinate() {
+        return Coordinates.create(dimension, measures);
+    }
+
+    public double getX(int i) {
+        final int P = part(i);
+        return parts[P].getX(index(P, i));
+    }
+
+    public double getY(int i) {
+        final int P = part(i);
+        return parts[P].getY(index(P, i));
+    }
+
+    public double getOrdinate(int i, int ordinate) {
+        final int P = part(i);
+        return ordinate(parts[P], index(P, i), ordinate);
+    }
+
+    /** Ordinate as written by SDOEncoder: z from getZ, attributes of CoordinateAccess follow */
+    private double ordinate(CoordinateSequence part, int index, int ordinate) {
+        if (ordinate == 0) {
+            return part.getX(index);
+        } else if (ordinate == 1) {
+            return part.getY(index);
+        } else if (ordinate == 2
+                && dimension - measures > 2
+                && !(part instanceof CoordinateAccess)) {
+            return part.getZ(index);
+        }
+        return part.getOrdinate(index, ordinate);
+    }
+
+    public void setOrdinate(int i, int ordinate, double value) {
+        final int P = part(i);
+        parts[P].setOrdinate(index(P, i), ordinate, value);
+    }
+
+    public Coordinate[] toCoordinateArray() {
+        final int SIZE = size();
+        Coordinate[] coords = new Coordinate[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            coords[i] = getCoordinateCopy(i);
+        }
+        return coords;
+    }
+
+    public Envelope expandEnvelope(Envelope env) {
+        for (CoordinateSequence part : parts) {
+            part.expandEnvelope(env);
+        }
+        return env;
+    }
+
+    /**
+     * Packed ordinates of the view, <code>D + L</code> per coordinate: the array
+     * SDOUtils.ordinates(geom) returns for the geometry of this view.
+     */
+    public double[] toOrdinateArray() {
+        final int LEN = dimension;
+        double[] ordinates = new double[size() * LEN];
+        int offset = 0;
+        for (int p = 0; p < parts.length; p++) {
+            final CoordinateSequence PART = parts[p];
+            final int SIZE = PART.size();
+            for (int n = 0; n < SIZE; n++) {
+                final int INDEX = reversed[p] ? SIZE - 1 - n : n;
+                for (int j = 0; j < LEN; j++) {
+                    ordinates[offset++] = ordinate(PART, INDEX, j);
+                }
+            }
+        }
+        return ordinates;
+    }
+
+    /** Slice over the packed ordinates of this view. */
+    public SDOOrdinateSlice copy() {
+        return new SDOOrdinateSlice(toOrdinateArray(), 0, size(), dimension, measures);
+    }
+
+    /** @deprecated use copy() */
+    @Deprecated
+    public Object clone() {
+        return copy();
+    }
+
+    public String toString() {
+        StringBuilder buf = new StringBuilder("SDOConcatenatedSequence(");
+        SDOCoordinates.append(buf, this, SDOOrdinateFormat.SHORTEST);
+        buf.append(")");
+
+        return buf.toString();
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Struct;
+
+/**
+ * SDOStructFactory using a JDBC Connection.
+ *
+ * <p>Structs are created with <code>Connection.createStruct</code>. Oracle drivers do not support
+ * <code>Connection.createArrayOf</code> for named collection types, <code>
+ * oracle.jdbc.OracleConnection.createOracleArray</code> is used when the connection is or wraps
+ * an OracleConnection, primitive arrays are then passed without boxing.
+ *
+ * <p>The driver may be loaded by its own class loader (connection pools, DBeaver driver class
+ * loaders): OracleConnection is looked up in the class hierarchy of the connection, through the
+ * class loaders of the connection, of the current thread and of this library, and finally on the
+ * physical connection returned by <code>getMetaData().getConnection()</code>. When it is not
+ * found the reason is reported with any failure of <code>createArrayOf</code>.
+ */
+public class SDOConnectionStructFactory implements SDOStructFactory {
+    private static final String ORACLE_CONNECTION = "oracle.jdbc.OracleConnection";
+
+    private final Connection connection;
+
+    /** OracleConnection.createOracleArray(String,Object), or null if not available */
+    private final Method createOracleArray;
+
+    /** OracleConnection unwrapped from connection, or null if not available */
+    private final Object oracleConnection;
+
+    /** Why createOracleArray is not available, null if it is */
+    private final Exception unavailable;
+
+    public SDOConnectionStructFactory(Connection connection) {
+        this.connection = connection;
+        Method method = null;
+        Object unwrapped = null;
+        Exception failure = null;
+        try {
+            unwrapped = unwrapOracleConnection(connection);
+            if (unwrapped != null) {
+                method =
+                        findInterface(unwrapped.getClass())
+                                .getMethod("createOracleArray", String.class, Object.class);
+            } else {
+                failure = new SQLException("Connection does not wrap " + ORACLE_CONNECTION);
+            }
+        } catch (ReflectiveOperationException | SQLException | RuntimeException e) {
+            method = null;
+            unwrapped = null;
+            failure = e;
+        }
+        this.createOracleArray = method;
+        this.oracleConnection = unwrapped;
+        this.unavailable = failure;
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+        return connection.createStruct(typeName, attributes);
+    }
+
+    public Array createArray(String typeName, Object elements) throws SQLException {
+        if (createOracleArray != null) {
+            try {
+                return (Array) createOracleArray.invoke(oracleConnection, typeName, elements);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException) {
+                    throw (SQLException) e.getCause();
+                }
+                throw new SQLException("Unable to create " + typeName, e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new SQLException("Unable to create " + typeName, e);
+            }
+        }
+        try {
+            return connection.createArrayOf(typeName, asObjectArray(elements));
+        } catch (SQLException e) {
+            SQLException failure =
+                    new SQLException(
+                            "Unable to create "
+                                    + typeName
+                                    + " with createArrayOf, createOracleArray not available: "
+                                    + unavailable,
+                            e);
+            failure.addSuppressed(unavailable);
+            throw failure;
+        }
+    }
+
+    /** OracleConnection connection is or wraps, null if none is found */
+    private static Object unwrapOracleConnection(Connection connection) throws SQLException {
+        if (findInterface(connection.getClass()) != null) {
+            return connection;
+        }
+        ClassLoader[] loaders = {
+            connection.getClass().getClassLoader(),
+            Thread.currentThread().getContextClassLoader(),
+            SDOConnectionStructFactory.class.getClassLoader()
+        };
+        for (ClassLoader loader : loaders) {
+            Class<?> type = load(loader);
+            if (type != null && connection.isWrapperFor(type)) {
+                return connection.unwrap(type);
+            }
+        }
+        // wrapper loaded apart from the driver: its physical connection
+        Connection physical = connection.getMetaData().getConnection();
+        if (physical != null && findInterface(physical.getClass()) != null) {
+            return physical;
+        }
+        return null;
+    }
+
+    /** OracleConnection as loaded by loader, null if not visible */
+    private static Class<?> load(ClassLoader loader) {
+        if (loader == null) {
+            return null;
+        }
+        try {
+            return Class.forName(ORACLE_CONNECTION, false, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /** OracleConnection among the interfaces of type, null if not implemented */
+    private static Class<?> findInterface(Class<?> type) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Class<?> i : c.getInterfaces()) {
+                if (i.getName().equals(ORACLE_CONNECTION)) {
+                    return i;
+                }
+                Class<?> found = findInterface(i);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Boxes primitive arrays for Connection.createArrayOf */
+    private static Object[] asObjectArray(Object elements) {
+        if (elements instanceof Object[]) {
+            return (Object[]) elements;
+        }
+        if (elements instanceof double[]) {
+            double[] values = (double[]) elements;
+            Object[] array = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                array[i] = Double.valueOf(values[i]);
+            }
+            return array;
+        }
+        if (elements instanceof int[]) {
+            int[] values = (int[]) elements;
+            Object[] array = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                array[i] = Integer.valueOf(values[i]);
+            }
+            return array;
+        }
+        throw new IllegalArgumentException(
+                "Unsupported array elements " + (elements == null ? null : elements.getClass()));
+    }
+}
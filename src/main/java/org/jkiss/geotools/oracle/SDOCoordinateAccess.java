@@ -0,0 +1,491 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.PrecisionModel;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Column major implementation of CoordinateAccess.
+ *
+ * <p>Each spatial ordinate is held in its own <code>double[]</code> column:
+ *
+ * <pre><code>
+ * <b>ordinates</b>:[ [ x1, x2,...,xN], [ y1, y2,...,yN] ]
+ * <b>attributes</b>:[ [ m1, m2,...,mN], [ g1, g2,..., gN] ]
+ * </code></pre>
+ *
+ * <p>Attribute columns are stored as provided, <code>double[]</code>, <code>int[]</code> and
+ * <code>long[]</code> columns are kept as primitive arrays and any other column is held as an
+ * <code>Object[]</code>. Numeric attributes can be accessed as ordinates greater than or equal to
+ * getDimension().
+ *
+ * <p>The arrays returned by toOrdinateArrays() and toAttributeArrays() are the live columns of
+ * this sequence, not copies.
+ */
+public class SDOCoordinateAccess implements CoordinateAccess, Serializable {
+    private static final long serialVersionUID = 6423461257102372581L;
+
+    private double[][] ordinates;
+
+    private Object[] attributes;
+
+    private int size;
+
+    /**
+     * Empty sequence of the provided size, attribute columns are filled with NaN, 0 or null.
+     *
+     * @param size Number of coordinates
+     * @param dimension Number of spatial ordinates
+     * @param attributeTypes Component type of each attribute column (double, int, long or Object)
+     */
+    public SDOCoordinateAccess(int size, int dimension, Class<?>[] attributeTypes) {
+        this.size = size;
+        this.ordinates = new double[dimension][size];
+        this.attributes = new Object[attributeTypes != null ? attributeTypes.length : 0];
+
+        for (int i = 0; i < dimension; i++) {
+            Arrays.fill(ordinates[i], Double.NaN);
+        }
+        for (int i = 0; i < attributes.length; i++) {
+            attributes[i] = createColumn(attributeTypes[i], size);
+        }
+    }
+
+    /**
+     * Sequence making direct use of the provided column major arrays.
+     *
+     * @param ordinates column major ordinate arrays (these are spatially significant)
+     * @param attributes Individual attribute arrays may be primitive or object arrays, may be null
+     */
+    public SDOCoordinateAccess(double[][] ordinates, Object[] attributes) {
+        setCoordinateArrays(ordinates, attributes);
+    }
+
+    public int getDimension() {
+        return ordinates.length;
+    }
+
+    public int getNumAttributes() {
+        return attributes.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Coordinate getCoordinate(int i) {
+        return getCoordinateCopy(i);
+    }
+
+    public Coordinate getCoordinateCopy(int i) {
+        Coordinate coord = new Coordinate();
+        getCoordinate(i, coord);
+
+        return coord;
+    }
+
+    public void getCoordinate(int index, Coordinate coord) {
+        coord.x = ordinates[0][index];
+        coord.y = ordinates[1][index];
+        coord.setZ(ordinates.length > 2 ? ordinates[2][index] : Double.NaN);
+    }
+
+    public double getX(int index) {
+        return ordinates[0][index];
+    }
+
+    public double getY(int index) {
+        return ordinates[1][index];
+    }
+
+    public double getOrdinate(int coordinate, int ordinate) {
+        if (ordinate < ordinates.length) {
+            return ordinates[ordinate][coordinate];
+        }
+        int attribute = ordinate - ordinates.length;
+        if (attribute < attributes.length) {
+            return getDouble(attributes[attribute], coordinate);
+        }
+        return Double.NaN;
+    }
+
+    public void setOrdinate(int coordinate, int ordinate, double value) {
+        if (ordinate < ordinates.length) {
+            ordinates[ordinate][coordinate] = value;
+            return;
+        }
+        int attribute = ordinate - ordinates.length;
+        if (attribute < attributes.length) {
+            setDouble(attributes[attribute], coordinate, value);
+        }
+    }
+
+    public Object getAttribute(int coordinate, int attribute) {
+        Object column = attributes[attribute];
+
+        if (column instanceof double[]) {
+            return ((double[]) column)[coordinate];
+        } else if (column instanceof int[]) {
+            return ((int[]) column)[coordinate];
+        } else if (column instanceof long[]) {
+            return ((long[]) column)[coordinate];
+        }
+        return ((Object[]) column)[coordinate];
+    }
+
+    public void setAttribute(int coordinate, int attribute, Object value) {
+        Object column = attributes[attribute];
+
+        if (column instanceof Object[]) {
+            ((Object[]) column)[coordinate] = value;
+        } else if (value instanceof Number) {
+            Number number = (Number) value;
+            if (column instanceof double[]) {
+                ((double[]) column)[coordinate] = number.doubleValue();
+            } else if (column instanceof int[]) {
+                ((int[]) column)[coordinate] = number.intValue();
+            } else {
+                ((long[]) column)[coordinate] = number.longValue();
+            }
+        } else {
+            throw new IllegalArgumentException(
+                    "Attribute " + attribute + " requires a Number, not " + value);
+        }
+    }
+
+    public double[] toOrdinateArray(int ordinate) {
+        if (ordinate < ordinates.length) {
+            return ordinates[ordinate];
+        }
+        Object column = attributes[ordinate - ordinates.length];
+        if (column instanceof double[]) {
+            return (double[]) column;
+        }
+        double[] array = new double[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = getDouble(column, i);
+        }
+        return array;
+    }
+
+    public Object[] toAttributeArray(int attribute) {
+        Object column = attributes[attribute];
+        if (column instanceof Object[]) {
+            return (Object[]) column;
+        }
+        Object[] array = new Object[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = getAttribute(i, attribute);
+        }
+        return array;
+    }
+
+    public void setOrdinateArray(int ordinate, double[] ordinateArray) {
+        if (ordinateArray.length != size) {
+            throw new IllegalArgumentException(
+                    "Ordinate array of length "
+                            + ordinateArray.length
+                            + " inconsistent with sequence size "
+                            + size);
+        }
+        if (ordinate < ordinates.length) {
+            ordinates[ordinate] = ordinateArray;
+        } else {
+            attributes[ordinate - ordinates.length] = ordinateArray;
+        }
+    }
+
+    public void setAttributeArray(int attribute, Object attributeArray) {
+        Object column = asColumn(attributeArray);
+        if (length(column) != size) {
+            throw new IllegalArgumentException(
+                    "Attribute array of length "
+                            + length(column)
+                            + " inconsistent with sequence size "
+                            + size);
+        }
+        attributes[attribute] = column;
+    }
+
+    public double[][] toOrdinateArrays() {
+        return ordinates;
+    }
+
+    public Object[] toAttributeArrays() {
+        return attributes;
+    }
+
+    public void setCoordinateArrays(double[][] ordinateArrays, Object[] attributeArrays) {
+        if (ordinateArrays == null || ordinateArrays.length < 2) {
+            throw new IllegalArgumentException("At least x and y ordinate arrays are required");
+        }
+        final int SIZE = ordinateArrays[0].length;
+        for (int i = 1; i < ordinateArrays.length; i++) {
+            if (ordinateArrays[i].length != SIZE) {
+                throw new IllegalArgumentException(
+                        "Ordinate array " + i + " inconsistent with sequence size " + SIZE);
+            }
+        }
+        Object[] columns = new Object[attributeArrays != null ? attributeArrays.length : 0];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = asColumn(attributeArrays[i]);
+            if (length(columns[i]) != SIZE) {
+                throw new IllegalArgumentException(
+                        "Attribute array " + i + " inconsistent with sequence size " + SIZE);
+            }
+        }
+        this.ordinates = ordinateArrays;
+        this.attributes = columns;
+        this.size = SIZE;
+    }
+
+    public void setAt(int coordinate, double[] ordinates, Object[] attributes) {
+        final int D = this.ordinates.length;
+
+        for (int i = 0; i < D; i++) {
+            this.ordinates[i][coordinate] = ordinates[i];
+        }
+        if (attributes != null) {
+            for (int i = 0; i < attributes.length; i++) {
+                setAttribute(coordinate, i, attributes[i]);
+            }
+        } else {
+            for (int i = D; i < ordinates.length; i++) {
+                setOrdinate(coordinate, i, ordinates[i]);
+            }
+        }
+    }
+
+    public Coordinate[] toCoordinateArray() {
+        Coordinate[] coords = new Coordinate[size];
+        for (int i = 0; i < size; i++) {
+            coords[i] = getCoordinateCopy(i);
+        }
+        return coords;
+    }
+
+    public Envelope expandEnvelope(Envelope env) {
+        final double[] x = ordinates[0];
+        final double[] y = ordinates[1];
+
+        for (int i = 0; i < size; i++) {
+            env.expandToInclude(x[i], y[i]);
+        }
+        return env;
+    }
+
+    /**
+     * Sublist of this sequence, each column is copied in a single array copy.
+     *
+     * @param fromIndex low endpoint (inclusive) of the subList
+     * @param toIndex high endpoint (exclusive) of the subList
+     * @return sequence holding coordinates [fromIndex,toIndex)
+     */
+    public SDOCoordinateAccess subList(int fromIndex, int toIndex) {
+        double[][] subOrdinates = new double[ordinates.length][];
+        Object[] subAttributes = new Object[attributes.length];
+
+        for (int i = 0; i < ordinates.length; i++) {
+            subOrdinates[i] = Arrays.copyOfRange(ordinates[i], fromIndex, toIndex);
+        }
+        for (int i = 0; i < attributes.length; i++) {
+            subAttributes[i] = copyOfRange(attributes[i], fromIndex, toIndex);
+        }
+        return new SDOCoordinateAccess(subOrdinates, subAttributes);
+    }
+
+    /**
+     * Copy of this sequence in reverse order (used to correct CW vs CCW order).
+     *
+     * @return reversed sequence
+     */
+    public SDOCoordinateAccess reverse() {
+        double[][] revOrdinates = new double[ordinates.length][];
+        Object[] revAttributes = new Object[attributes.length];
+
+        for (int i = 0; i < ordinates.length; i++) {
+            double[] column = ordinates[i];
+            double[] reversed = new double[size];
+            for (int j = 0, k = size - 1; j < size; j++, k--) {
+                reversed[j] = column[k];
+            }
+            revOrdinates[i] = reversed;
+        }
+        for (int i = 0; i < attributes.length; i++) {
+            Object column = copyOfRange(attributes[i], 0, size);
+            reverse(column);
+            revAttributes[i] = column;
+        }
+        return new SDOCoordinateAccess(revOrdinates, revAttributes);
+    }
+
+    /**
+     * Ring orientation using the signed area of the x and y columns, see
+     * SDOCoordinates.signedArea2.
+     *
+     * @return <code>true</code> if this sequence is a counter clockwise ring
+     */
+    public boolean isCCW() {
+        return SDOCoordinates.signedArea2(this) > 0;
+    }
+
+    public SDOCoordinateAccess copy() {
+        return subList(0, size);
+    }
+
+    /** @deprecated use copy() */
+    @Deprecated
+    public Object clone() {
+        return copy();
+    }
+
+    public String toString() {
+        StringBuilder buf = new StringBuilder("SDOCoordinateAccess(");
+        SDOCoordinates.append(buf, this, (PrecisionModel) null);
+        buf.append(")");
+
+        return buf.toString();
+    }
+
+    //
+    // Column helpers
+    //
+    static Object createColumn(Class<?> type, int size) {
+        if (type == double.class || type == Double.class) {
+            double[] column = new double[size];
+            Arrays.fill(column, Double.NaN);
+            return column;
+        } else if (type == int.class || type == Integer.class) {
+            return new int[size];
+        } else if (type == long.class || type == Long.class) {
+            return new long[size];
+        }
+        return new Object[size];
+    }
+
+    /** Accepts double[], int[], long[] and Object[] as is, other primitive arrays are widened. */
+    private static Object asColumn(Object array) {
+        if (array instanceof double[]
+                || array instanceof int[]
+                || array instanceof long[]
+                || array instanceof Object[]) {
+            return array;
+        }
+        if (array instanceof float[]) {
+            float[] floats = (float[]) array;
+            double[] column = new double[floats.length];
+            for (int i = 0; i < floats.length; i++) {
+                column[i] = floats[i];
+            }
+            return column;
+        }
+        if (array instanceof short[]) {
+            short[] shorts = (short[]) array;
+            int[] column = new int[shorts.length];
+            for (int i = 0; i < shorts.length; i++) {
+                column[i] = shorts[i];
+            }
+            return column;
+        }
+        throw new IllegalArgumentException(
+                "Attribute array must be a double[], int[], long[] or Object[]: " + array);
+    }
+
+    private static int length(Object column) {
+        if (column instanceof double[]) {
+            return ((double[]) column).length;
+        } else if (column instanceof int[]) {
+            return ((int[]) column).length;
+        } else if (column instanceof long[]) {
+            return ((long[]) column).length;
+        }
+        return ((Object[]) column).length;
+    }
+
+    private static double getDouble(Object column, int index) {
+        if (column instanceof double[]) {
+            return ((double[]) column)[index];
+        } else if (column instanceof int[]) {
+            return ((int[]) column)[index];
+        } else if (column instanceof long[]) {
+            return ((long[]) column)[index];
+        }
+        Object value = ((Object[]) column)[index];
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+    }
+
+    private static void setDouble(Object column, int index, double value) {
+        if (column instanceof double[]) {
+            ((double[]) column)[index] = value;
+        } else if (column instanceof int[]) {
+            ((int[]) column)[index] = (int) value;
+        } else if (column instanceof long[]) {
+            ((long[]) column)[index] = (long) value;
+        } else {
+            ((Object[]) column)[index] = value;
+        }
+    }
+
+    private static Object copyOfRange(Object column, int from, int to) {
+        if (column instanceof double[]) {
+            return Arrays.copyOfRange((double[]) column, from, to);
+        } else if (column instanceof int[]) {
+            return Arrays.copyOfRange((int[]) column, from, to);
+        } else if (column instanceof long[]) {
+            return Arrays.copyOfRange((long[]) column, from, to);
+        }
+        return Arrays.copyOfRange((Object[]) column, from, to);
+    }
+
+    private static void reverse(Object column) {
+        if (column instanceof double[]) {
+            double[] array = (double[]) column;
+            for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+                double tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        } else if (column instanceof int[]) {
+            int[] array = (int[]) column;
+            for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+                int tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        } else if (column instanceof long[]) {
+            long[] array = (long[]) column;
+            for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+                long tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        } else {
+            Object[] array = (Object[]) column;
+            for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+                Object tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+
+import java.io.Serializable;
+
+/**
+ * CoordinateAccessFactory producing column major SDOCoordinateAccess sequences.
+ *
+ * <p>Example: (x,y,m) getDimension()==2, getNumAttributes()==1
+ *
+ * <pre><code>
+ * new SDOCoordinateAccessFactory( 2, double.class );
+ * </code></pre>
+ */
+public class SDOCoordinateAccessFactory implements CoordinateAccessFactory, Serializable {
+    private static final long serialVersionUID = -2409364818716437962L;
+
+    private static final Class<?>[] NO_ATTRIBUTES = new Class<?>[0];
+
+    private final int dimension;
+
+    private final Class<?>[] attributeTypes;
+
+    /** Factory for 2 or 3 dimensional sequences without attributes. */
+    public SDOCoordinateAccessFactory(int dimension) {
+        this(dimension, NO_ATTRIBUTES);
+    }
+
+    /**
+     * Factory with typed attribute columns.
+     *
+     * @param dimension Number of spatial ordinates
+     * @param attributeTypes Component type of each attribute column, double, int and long columns
+     *     are kept as primitive arrays
+     */
+    public SDOCoordinateAccessFactory(int dimension, Class<?>... attributeTypes) {
+        this.dimension = dimension;
+        this.attributeTypes = attributeTypes != null ? attributeTypes.clone() : NO_ATTRIBUTES;
+    }
+
+    public CoordinateAccess create(double[] xyz[], Object[] attributes) {
+        return new SDOCoordinateAccess(xyz, attributes);
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public int getNumAttributes() {
+        return attributeTypes.length;
+    }
+
+    public CoordinateSequence create(Coordinate[] coordinates) {
+        final int SIZE = coordinates != null ? coordinates.length : 0;
+        SDOCoordinateAccess access = new SDOCoordinateAccess(SIZE, dimension, attributeTypes);
+        double[][] ordinates = access.toOrdinateArrays();
+
+        for (int i = 0; i < SIZE; i++) {
+            Coordinate c = coordinates[i];
+            ordinates[0][i] = c.x;
+            ordinates[1][i] = c.y;
+            if (dimension > 2) {
+                ordinates[2][i] = c.getZ();
+            }
+        }
+        return access;
+    }
+
+    public CoordinateSequence create(CoordinateSequence coordSeq) {
+        if (coordSeq instanceof SDOCoordinateAccess) {
+            return ((SDOCoordinateAccess) coordSeq).copy();
+        }
+        final int SIZE = coordSeq.size();
+        SDOCoordinateAccess access = new SDOCoordinateAccess(SIZE, dimension, attributeTypes);
+        double[][] ordinates = access.toOrdinateArrays();
+
+        for (int i = 0; i < SIZE; i++) {
+            ordinates[0][i] = coordSeq.getX(i);
+            ordinates[1][i] = coordSeq.getY(i);
+            if (dimension > 2) {
+                ordinates[2][i] = coordSeq.getZ(i);
+            }
+        }
+        return access;
+    }
+
+    public CoordinateSequence create(int size, int dimension) {
+        return create(size, dimension, 0);
+    }
+
+    /**
+     * Empty sequence, the spatial dimension is <code>dimension - measures</code>.
+     *
+     * <p>The attribute columns of this factory are used, extended with double columns if more
+     * measures are requested.
+     */
+    public CoordinateSequence create(int size, int dimension, int measures) {
+        Class<?>[] types = attributeTypes;
+        if (measures > types.length) {
+            types = new Class<?>[measures];
+            for (int i = 0; i < measures; i++) {
+                types[i] = i < attributeTypes.length ? attributeTypes[i] : double.class;
+            }
+        }
+        return new SDOCoordinateAccess(size, dimension - measures, types);
+    }
+}
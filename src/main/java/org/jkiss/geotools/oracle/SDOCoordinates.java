@@ -19,7 +19,9 @@ package org.jkiss.geotools.oracle;
 import org.locationtech.jts.geom.*;
 import org.locationtech.jts.geom.impl.CoordinateArraySequence;
 import org.locationtech.jts.geom.impl.CoordinateArraySequenceFactory;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
 
+import java.io.IOException;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
@@ -69,13 +71,17 @@ public class SDOCoordinates {
             }
         }
 
+        if (sequence instanceof SDOCoordinateAccess) {
+            return ((SDOCoordinateAccess) sequence).subList(fromIndex, toIndex);
+        }
+
         if (sequence instanceof CoordinateAccess) {
             CoordinateAccess access = (CoordinateAccess) sequence;
             double[][] coordArray = access.toOrdinateArrays();
             Object[] attributeArray = access.toAttributeArrays();
 
             double[][] subCoordArray = new double[access.getDimension()][];
-            Object[][] subAttributeArray = new Object[access.getNumAttributes()][];
+            Object[] subAttributeArray = new Object[access.getNumAttributes()];
 
             //							System.out.println("Dimension = " + access.getDimension());
             //							System.out.println("coordArray.length = " + coordArray.length);
@@ -125,7 +131,7 @@ public class SDOCoordinates {
             for (int i = 0; i < access.getNumAttributes(); i++) {
                 subAttributeArray[i] =
                         new SDOAttributeList(attributeArray[i], 0, 1, fromIndex, toIndex)
-                                .toObjectArray();
+                                .toAttributeArray();
             }
 
             /*
@@ -168,11 +174,52 @@ public class SDOCoordinates {
 
         // handle coordinate sequence dimension correctly
         int size = toIndex - fromIndex;
-        CoordinateSequence newSeq = createCS(factory, size, sequence.getDimension());
+        CoordinateSequence newSeq =
+                createCS(factory, size, sequence.getDimension(), sequence.getMeasures());
         CoordinateSequences.copy(sequence, fromIndex, newSeq, 0, size);
         return newSeq;
     }
 
+    /**
+     * Twice the signed area of a ring, positive for counter clockwise order.
+     *
+     * <p>Shoelace formula over x and y, relative to the first coordinate to limit round off. No
+     * Coordinate is created. This is the only orientation test of the module, the encoder, the
+     * decoders and SDOCoordinateAccess.isCCW all use it.
+     *
+     * @param ring closed sequence of coordinates
+     */
+    public static double signedArea2(CoordinateSequence ring) {
+        final int SIZE = ring.size();
+        if (SIZE < 3) {
+            return 0;
+        }
+        final double x0 = ring.getX(0);
+        final double y0 = ring.getY(0);
+        double area = 0;
+        double x1 = ring.getX(1) - x0;
+        double y1 = ring.getY(1) - y0;
+        for (int i = 2; i < SIZE; i++) {
+            final double x2 = ring.getX(i) - x0;
+            final double y2 = ring.getY(i) - y0;
+            area += x1 * y2 - x2 * y1;
+            x1 = x2;
+            y1 = y2;
+        }
+        return area;
+    }
+
+    /**
+     * Ring orientation from its signed area.
+     *
+     * @param ring closed sequence of coordinates
+     * @return <code>true</code> for counter clockwise, <code>false</code> for clockwise or
+     *     collapsed rings
+     */
+    public static boolean isCCW(CoordinateSequence ring) {
+        return signedArea2(ring) > 0;
+    }
+
     /**
      * Reverse provided coordinate sequence (used to correct CW vs CCW order).
      *
@@ -181,13 +228,17 @@ public class SDOCoordinates {
      */
     public static CoordinateSequence reverse(
             CoordinateSequenceFactory factory, CoordinateSequence sequence) {
+        if (sequence instanceof SDOCoordinateAccess) {
+            return ((SDOCoordinateAccess) sequence).reverse();
+        }
+
         if (sequence instanceof CoordinateAccess) {
             CoordinateAccess access = (CoordinateAccess) sequence;
             double[][] coordArray = access.toOrdinateArrays();
             Object[] attributeArray = access.toAttributeArrays();
 
             double[][] subCoordArray = new double[access.getDimension()][];
-            Object[][] subAttributeArray = new Object[access.getNumAttributes()][];
+            Object[] subAttributeArray = new Object[access.getNumAttributes()];
 
             for (int i = 0; i < access.getDimension(); i++) {
                 subCoordArray[i] =
@@ -198,7 +249,7 @@ public class SDOCoordinates {
             for (int i = 0; i < access.getNumAttributes(); i++) {
                 subAttributeArray[i] =
                         new SDOAttributeList(attributeArray[i], 0, 1, access.size() - 1, -1)
-                                .toObjectArray();
+                                .toAttributeArray();
             }
 
             CoordinateAccess c =
@@ -299,11 +350,64 @@ public class SDOCoordinates {
         return f;
     }
 
+    /**
+     * Coordinates as "x y[ z], x y[ z], ..." text.
+     *
+     * <p>Written with SDOOrdinateFormat.valueOf(pm): the same fraction digits as format(pm), without
+     * locale specific grouping.
+     */
     public static String toString(CoordinateSequence cs, PrecisionModel pm) {
-        StringBuffer buf = new StringBuffer();
-        append(buf, cs, format(pm));
+        return append(new StringBuilder(cs.size() * 16), cs, SDOOrdinateFormat.valueOf(pm))
+                .toString();
+    }
 
-        return buf.toString();
+    /** Appends coordinates as "x y[ z], x y[ z], ..." written with SDOOrdinateFormat.valueOf(pm). */
+    public static StringBuilder append(StringBuilder buf, CoordinateSequence cs, PrecisionModel pm) {
+        return append(buf, cs, SDOOrdinateFormat.valueOf(pm));
+    }
+
+    /** Appends coordinates as "x y[ z], x y[ z], ..." written with the provided format. */
+    public static StringBuilder append(
+            StringBuilder buf, CoordinateSequence cs, SDOOrdinateFormat format) {
+        buf.ensureCapacity(buf.length() + cs.size() * 16);
+        try {
+            append((Appendable) buf, cs, format);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // not thrown by StringBuilder
+        }
+        return buf;
+    }
+
+    /**
+     * Writes coordinates as "x y[ z], x y[ z], ..." with the provided format.
+     *
+     * <p>All LEN ordinates are written for CoordinateAccess, x y and z if present otherwise.
+     */
+    public static void append(Appendable out, CoordinateSequence cs, SDOOrdinateFormat format)
+            throws IOException {
+        final int SIZE = cs.size();
+        if (SIZE == 0) {
+            return;
+        }
+        final int LEN = LEN(cs);
+        for (int i = 0; i < SIZE; i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            append(out, cs, i, LEN, format);
+        }
+    }
+
+    /** Writes ordinates of one coordinate separated by spaces. */
+    public static void append(
+            Appendable out, CoordinateSequence cs, int coordinate, int LEN, SDOOrdinateFormat format)
+            throws IOException {
+        for (int i = 0; i < LEN; i++) {
+            if (i > 0) {
+                out.append(' ');
+            }
+            format.format(cs.getOrdinate(coordinate, i), out);
+        }
     }
 
     public static void append(StringBuffer buf, CoordinateSequence cs, NumberFormat nf) {
@@ -364,7 +468,10 @@ public class SDOCoordinates {
         } else {
             cs = csFactory.create(size, dimension, measures);
         }
-        if (cs.getDimension() != dimension) {
+        // CoordinateAccess reports spatial dimension only, measures are held as attributes
+        final int actual =
+                cs instanceof CoordinateAccess ? cs.getDimension() + measures : cs.getDimension();
+        if (actual != dimension) {
             // illegal state error, try and fix
             throw new IllegalStateException(
                 "Unable to use"
@@ -374,4 +481,65 @@ public class SDOCoordinates {
         }
         return cs;
     }
+
+    /**
+     * Checks if the factory produces PackedCoordinateSequence.Double sequences, able to take an
+     * ordinate array without copying.
+     */
+    public static boolean isPackedDouble(CoordinateSequenceFactory csFactory) {
+        return csFactory instanceof PackedCoordinateSequenceFactory
+                && ((PackedCoordinateSequenceFactory) csFactory).getType()
+                        == PackedCoordinateSequenceFactory.DOUBLE;
+    }
+
+    /**
+     * Number of ordinates per coordinate, including measures.
+     *
+     * <p>CoordinateAccess reports the spatial dimension only, its attributes are counted as
+     * measures.
+     */
+    public static int ordinateCount(CoordinateSequence cs) {
+        if (cs instanceof CoordinateAccess) {
+            return cs.getDimension() + ((CoordinateAccess) cs).getNumAttributes();
+        }
+        return cs.getDimension();
+    }
+
+    /** Number of measures of a coordinate sequence, CoordinateAccess attributes included. */
+    public static int measureCount(CoordinateSequence cs) {
+        if (cs instanceof CoordinateAccess) {
+            return ((CoordinateAccess) cs).getNumAttributes();
+        }
+        return cs.getMeasures();
+    }
+
+    /**
+     * Creates a CoordinateSequence from a packed ordinate array.
+     *
+     * <p>The array is used directly when the factory produces PackedCoordinateSequence.Double,
+     * otherwise the ordinates are copied into a sequence created by the factory.
+     *
+     * @param csFactory factory used to create the sequence
+     * @param packed ordinates, <code>dimension</code> values per coordinate
+     * @param size number of coordinates
+     * @param dimension number of ordinates per coordinate, including measures
+     * @param measures number of measures
+     */
+    public static CoordinateSequence create(
+            CoordinateSequenceFactory csFactory,
+            double[] packed,
+            int size,
+            int dimension,
+            int measures) {
+        if (isPackedDouble(csFactory) && packed.length == size * dimension) {
+            return ((PackedCoordinateSequenceFactory) csFactory).create(packed, dimension, measures);
+        }
+        CoordinateSequence cs = createCS(csFactory, size, dimension, measures);
+        for (int i = 0, offset = 0; i < size; i++) {
+            for (int j = 0; j < dimension; j++) {
+                cs.setOrdinate(i, j, packed[offset++]);
+            }
+        }
+        return cs;
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+/**
+ * SDO_ELEM_INFO decoded once per geometry.
+ *
+ * <p>Each triplet is split into its STARTING_OFFSET, ETYPE and INTERPRETATION, the starting
+ * offset is resolved into a coordinate index and the triplet following each element (compound
+ * elements are followed by their sub-elements) is computed up front. Decoding then walks the
+ * elements with constant time lookups rather than repeating the offset arithmetic for every ring.
+ *
+ * <p>Like the SDOUtils accessors, triplets past the end report an ETYPE of -1.
+ */
+final class SDOElemInfo {
+    /** Number of triplets */
+    final int size;
+
+    /** Number of ordinates, the largest valid STARTING_OFFSET */
+    final int length;
+
+    /** Number of coordinates the starting offsets refer to */
+    private final int coordinates;
+
+    private final int[] offsets;
+
+    private final int[] etypes;
+
+    private final int[] interpretations;
+
+    /** Index of the first coordinate of each element */
+    private final int[] starts;
+
+    /** Triplet following each element and its sub-elements */
+    private final int[] next;
+
+    /**
+     * Decodes elemInfo.
+     *
+     * @param elemInfo SDO_ELEM_INFO triplets
+     * @param LEN ordinates per coordinate, used to turn offsets into coordinate indexes
+     * @param SIZE number of coordinates
+     */
+    SDOElemInfo(int[] elemInfo, final int LEN, final int SIZE) {
+        size = elemInfo.length / 3;
+        length = SIZE * LEN;
+        coordinates = SIZE;
+        offsets = new int[size];
+        etypes = new int[size];
+        interpretations = new int[size];
+        starts = new int[size];
+        next = new int[size];
+        for (int t = 0, i = 0; t < size; t++, i += 3) {
+            final int ETYPE = elemInfo[i + 1];
+            final int INTERPRETATION = elemInfo[i + 2];
+            offsets[t] = elemInfo[i];
+            etypes[t] = ETYPE;
+            interpretations[t] = INTERPRETATION;
+            starts[t] = (elemInfo[i] - 1) / LEN;
+            next[t] = isCompound(ETYPE) ? t + 1 + Math.max(INTERPRETATION, 0) : t + 1;
+        }
+    }
+
+    /** STARTING_OFFSET of triplet, or -1 if not available */
+    int offset(int triplet) {
+        return triplet < size ? offsets[triplet] : -1;
+    }
+
+    /** ETYPE of triplet, or -1 if not available */
+    int etype(int triplet) {
+        return triplet < size ? etypes[triplet] : -1;
+    }
+
+    /** INTERPRETATION of triplet, or -1 if not available */
+    int interpretation(int triplet) {
+        return triplet < size ? interpretations[triplet] : -1;
+    }
+
+    /** Index of the first coordinate of triplet */
+    int start(int triplet) {
+        return starts[triplet];
+    }
+
+    /** Index following the last coordinate of triplet: the start of the next triplet */
+    int end(int triplet) {
+        return triplet + 1 < size ? starts[triplet + 1] : coordinates;
+    }
+
+    /** Triplet following the element at triplet, skipping the sub-elements of compounds */
+    int next(int triplet) {
+        return next[triplet];
+    }
+
+    /** Number of triplets used by the element at triplet, including sub-elements */
+    int triplets(int triplet) {
+        return next[triplet] - triplet;
+    }
+
+    /** Compound line or ring, INTERPRETATION holding the number of sub-elements */
+    static boolean isCompound(final int ETYPE) {
+        switch (ETYPE) {
+            case SDOGeometryEType.COMPOUND:
+            case SDOGeometryEType.COMPOUND_POLYGON:
+            case SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR:
+            case SDOGeometryEType.COMPOUND_POLYGON_INTERIOR:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
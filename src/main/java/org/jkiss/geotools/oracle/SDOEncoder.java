@@ -0,0 +1,770 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import org.locationtech.jts.geom.*;
+
+import java.util.Arrays;
+
+/**
+ * Encodes JTS Geometry as <code>SDO_ELEM_INFO</code> and <code>SDO_ORDINATES</code>.
+ *
+ * <p>The exact number of triplets and ordinates is computed from the geometry first, both arrays
+ * are then filled in a single traversal: the starting offset of each element is the position
+ * reached in the ordinate array. One array of each kind is allocated per geometry.
+ *
+ * <p>Empty parts of multi geometries and collections are skipped in both arrays.
+ *
+ * <p>Two optimizations are available:
+ *
+ * <ul>
+ *   <li>point optimization (on by default): non LRS 2D and 3D points are encoded as SDO_POINT,
+ *       without SDO_ELEM_INFO and SDO_ORDINATES
+ *   <li>rectangle optimization (off by default): axis aligned rectangles without holes are
+ *       encoded as optimized rectangles (1003/3), their lower left and upper right corners only.
+ *       Only used for 2D geometries without LRS, the ring orientation is not kept.
+ * </ul>
+ *
+ * <p>Ordinates may also be reduced as they are written:
+ *
+ * <ul>
+ *   <li>precision model (none by default): x and y are snapped to the grid of the precision
+ *       model, a tolerance of 0.001 is <code>new PrecisionModel(1000)</code>. Z and measures are
+ *       written as they are.
+ *   <li>repeated point removal (off by default): consecutive coordinates of lines and rings that
+ *       are equal once snapped are written once. Lines keep at least 2 coordinates, they are
+ *       written unchanged rather than collapsed. Points of multi points are never removed.
+ * </ul>
+ *
+ * <p>A ring left with fewer than 4 distinct coordinates, or no area, once snapped or with its
+ * repeated points removed is not valid in Oracle: encoding fails with an
+ * IllegalArgumentException rather than writing it.
+ *
+ * <p>Element offsets follow the coordinates actually written, the ordinate array is trimmed to
+ * its final length.
+ *
+ * <p>Options are set up before use, an encoder is then thread safe.
+ */
+public class SDOEncoder {
+    private boolean pointOptimization = true;
+
+    private boolean rectangleOptimization;
+
+    private PrecisionModel precisionModel;
+
+    private boolean removeRepeatedPoints;
+
+    /** Checks if points are encoded as SDO_POINT. */
+    public boolean isPointOptimization() {
+        return pointOptimization;
+    }
+
+    /**
+     * Encode non LRS 2D and 3D points as SDO_POINT, rather than SDO_ELEM_INFO (1,1,1) and
+     * SDO_ORDINATES.
+     */
+    public void setPointOptimization(boolean pointOptimization) {
+        this.pointOptimization = pointOptimization;
+    }
+
+    /** Checks if rectangles are encoded as optimized rectangles. */
+    public boolean isRectangleOptimization() {
+        return rectangleOptimization;
+    }
+
+    /**
+     * Encode 2D axis aligned rectangles without holes, of any SRID, as optimized rectangles
+     * (1003/3). Query windows sent to SDO_FILTER shrink from 10 to 4 ordinates.
+     */
+    public void setRectangleOptimization(boolean rectangleOptimization) {
+        this.rectangleOptimization = rectangleOptimization;
+    }
+
+    /** Precision model x and y are snapped to, null if written as they are. */
+    public PrecisionModel getPrecisionModel() {
+        return precisionModel;
+    }
+
+    /**
+     * Snap x and y to the grid of precisionModel as they are written, SDO_POINT and optimized
+     * rectangles included. Null or a floating precision model writes full doubles.
+     */
+    public void setPrecisionModel(PrecisionModel precisionModel) {
+        this.precisionModel =
+                precisionModel == null || precisionModel.getType() == PrecisionModel.FLOATING
+                        ? null
+                        : precisionModel;
+    }
+
+    /** Checks if consecutive repeated coordinates of lines and rings are removed. */
+    public boolean isRemoveRepeatedPoints() {
+        return removeRepeatedPoints;
+    }
+
+    /**
+     * Write consecutive coordinates of lines and rings that are equal, once snapped to the
+     * precision model, only once.
+     */
+    public void setRemoveRepeatedPoints(boolean removeRepeatedPoints) {
+        this.removeRepeatedPoints = removeRepeatedPoints;
+    }
+
+    /**
+     * Encode geom using its own SRID.
+     *
+     * @param geom Geometry to encode
+     * @return SDO_GEOMETRY attributes
+     * @throws IllegalArgumentException If geometry cannot be encoded
+     */
+    public SDOGeometry encode(Geometry geom) {
+        return encode(geom, geom.getSRID());
+    }
+
+    /**
+     * Encode geom.
+     *
+     * @param geom Geometry to encode
+     * @param srid SDO_SRID, <code>SDOUtils.SRID_NULL</code> or 0 for NULL
+     * @return SDO_GEOMETRY attributes
+     * @throws IllegalArgumentException If geometry cannot be encoded
+     */
+    public SDOGeometry encode(Geometry geom, int srid) {
+        final int GTYPE = SDOUtils.gType(geom);
+        final int SRID = srid == 0 ? SDOUtils.SRID_NULL : srid;
+        final int D = SDOUtils.D(geom);
+        final int LEN = D + SDOUtils.L(geom);
+        if (pointOptimization && geom instanceof Point && !geom.isEmpty() && LEN == D && D <= 3) {
+            double[] point = SDOUtils.point(geom);
+            if (precisionModel != null) {
+                point[0] = precisionModel.makePrecise(point[0]);
+                point[1] = precisionModel.makePrecise(point[1]);
+            }
+            return new SDOGeometry(GTYPE, SRID, point, null, null);
+        }
+        Cursor cursor =
+                new Cursor(
+                        new int[tripletCount(geom) * 3],
+                        new double[coordinateCount(geom, LEN) * LEN]);
+        encode(geom, cursor, D, LEN);
+        cursor.check();
+
+        return new SDOGeometry(GTYPE, SRID, null, cursor.elemInfo, cursor.ordinates());
+    }
+
+    /**
+     * Number of <code>SDO_ORDINATES</code> used to encode geom.
+     *
+     * @param geom Geometry to encode
+     * @return length of the array returned by ordinates(geom)
+     * @throws IllegalArgumentException If geometry cannot be encoded
+     */
+    public int ordinateCount(Geometry geom) {
+        final int D = SDOUtils.D(geom);
+        final int LEN = D + SDOUtils.L(geom);
+        if (!removeRepeatedPoints) {
+            return coordinateCount(geom, LEN) * LEN;
+        }
+        // removed coordinates are only known once snapped, count without writing
+        Cursor cursor = new Cursor(null, null);
+        encode(geom, cursor, D, LEN);
+
+        return cursor.ordinate;
+    }
+
+    /**
+     * Number of <code>SDO_ELEM_INFO</code> values (three per triplet) used to encode geom.
+     *
+     * @param geom Geometry to encode
+     * @return length of the array returned by elemInfo(geom)
+     * @throws IllegalArgumentException If geometry cannot be encoded
+     */
+    public int elemInfoCount(Geometry geom) {
+        return tripletCount(geom) * 3;
+    }
+
+    /**
+     * Produce <code>SDO_ORDINATES</code> for geometry.
+     *
+     * @param geom Geometry to encode
+     * @return ordinates, <code>D + L</code> values per coordinate
+     * @throws IllegalArgumentException If geometry cannot be encoded
+     */
+    public double[] ordinates(Geometry geom) {
+        final int D = SDOUtils.D(geom);
+        final int LEN = D + SDOUtils.L(geom);
+        Cursor cursor = new Cursor(null, new double[coordinateCount(geom, LEN) * LEN]);
+        encode(geom, cursor, D, LEN);
+        cursor.check();
+
+        return cursor.ordinates();
+    }
+
+    /**
+     * Writes the <code>SDO_ORDINATES</code> of geom into ordinates.
+     *
+     * <p>ordinates must have room for <code>coordinates * LEN</code> values, fewer may be written
+     * when repeated points are removed.
+     *
+     * @param geom Geometry to encode
+     * @param ordinates array to write into
+     * @param offset index of the first ordinate to write
+     * @param D number of spatial ordinates per coordinate
+     * @param LEN number of ordinates per coordinate, measures included
+     * @return index following the last ordinate written
+     */
+    public int ordinates(Geometry geom, double[] ordinates, int offset, final int D, final int LEN) {
+        Cursor cursor = new Cursor(null, ordinates);
+        cursor.ordinate = offset;
+        encode(geom, cursor, D, LEN);
+
+        return cursor.ordinate;
+    }
+
+    /**
+     * Produce <code>SDO_ELEM_INFO</code> for geometry, starting offsets are computed as the
+     * ordinates are counted (no ordinate array is written).
+     *
+     * @param geom Geometry to encode
+     * @return elemInfo triplets
+     * @throws IllegalArgumentException If geometry cannot be encoded
+     */
+    public int[] elemInfo(Geometry geom) {
+        return elemInfo(geom, SDOUtils.D(geom) + SDOUtils.L(geom));
+    }
+
+    /** SDO_ELEM_INFO for geometry, with LEN ordinates per coordinate */
+    int[] elemInfo(Geometry geom, final int LEN) {
+        Cursor cursor = new Cursor(new int[tripletCount(geom) * 3], null);
+        encode(geom, cursor, SDOUtils.D(geom), LEN);
+        cursor.check();
+
+        return cursor.elemInfo;
+    }
+
+    /**
+     * View over the coordinates of geom, in the order ordinates(geom) writes them, backed by the
+     * part sequences of geom.
+     *
+     * <p>Optimized rectangles are the only copy: their two corners. The precision model and
+     * repeated point removal are not applied.
+     *
+     * @param geom Geometry to encode
+     * @throws IllegalArgumentException If geometry cannot be encoded
+     */
+    SDOConcatenatedSequence sequence(Geometry geom) {
+        final int D = SDOUtils.D(geom);
+        final int L = SDOUtils.L(geom);
+        Parts parts = new Parts();
+        sequence(geom, parts, D, D + L);
+
+        return new SDOConcatenatedSequence(
+                Arrays.copyOf(parts.sequences, parts.count),
+                Arrays.copyOf(parts.reversed, parts.count),
+                D,
+                L);
+    }
+
+    /** Part sequences collected by sequence(geom) */
+    private static final class Parts {
+        CoordinateSequence[] sequences = new CoordinateSequence[4];
+
+        boolean[] reversed = new boolean[4];
+
+        int count;
+
+        void add(CoordinateSequence sequence, boolean reverse) {
+            if (count == sequences.length) {
+                sequences = Arrays.copyOf(sequences, count * 2);
+                reversed = Arrays.copyOf(reversed, count * 2);
+            }
+            sequences[count] = sequence;
+            reversed[count] = reverse;
+            count++;
+        }
+    }
+
+    /** Same traversal as encode(geom, cursor, D, LEN) */
+    private void sequence(Geometry geom, Parts parts, final int D, final int LEN) {
+        switch (SDOUtils.TT(geom)) {
+            case SDOGeometryType.POINT:
+                parts.add(((Point) geom).getCoordinateSequence(), false);
+                return;
+
+            case SDOGeometryType.LINE:
+                parts.add(((LineString) geom).getCoordinateSequence(), false);
+                return;
+
+            case SDOGeometryType.POLYGON:
+                Polygon polygon = (Polygon) geom;
+                switch (interpretation(polygon, LEN)) {
+                    case 3:
+                        Envelope e = polygon.getEnvelopeInternal();
+                        double[] corners = {e.getMinX(), e.getMinY(), e.getMaxX(), e.getMaxY()};
+                        parts.add(new SDOOrdinateSlice(corners, 0, 2, 2, 0), false);
+                        return;
+
+                    case 1:
+                        if (polygon.isEmpty()) {
+                            return;
+                        }
+                        CoordinateSequence exterior =
+                                polygon.getExteriorRing().getCoordinateSequence();
+                        parts.add(exterior, !SDOCoordinates.isCCW(exterior));
+                        for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+                            CoordinateSequence interior =
+                                    polygon.getInteriorRingN(i).getCoordinateSequence();
+                            parts.add(interior, SDOCoordinates.isCCW(interior));
+                        }
+                        return;
+
+                    default: // curves and circles not supported
+                        return;
+                }
+
+            case SDOGeometryType.MULTIPOINT:
+            case SDOGeometryType.MULTILINE:
+            case SDOGeometryType.MULTIPOLYGON:
+            case SDOGeometryType.COLLECTION:
+                for (int i = 0; i < geom.getNumGeometries(); i++) {
+                    Geometry part = geom.getGeometryN(i);
+                    if (isEncoded(part)) {
+                        sequence(part, parts, D, LEN);
+                    }
+                }
+                return;
+        }
+
+        throw cannotEncode(geom);
+    }
+
+    /**
+     * Output arrays and write positions of a single encoding.
+     *
+     * <p>Either array may be null: positions still advance, so offsets stay consistent.
+     */
+    private static final class Cursor {
+        final int[] elemInfo;
+
+        final double[] ordinates;
+
+        /** Next index in elemInfo */
+        int elem;
+
+        /** Next index in ordinates */
+        int ordinate;
+
+        Cursor(int[] elemInfo, double[] ordinates) {
+            this.elemInfo = elemInfo;
+            this.ordinates = ordinates;
+        }
+
+        /** Adds a triplet starting at the current ordinate */
+        void triplet(int etype, int interpretation) {
+            if (elemInfo != null) {
+                elemInfo[elem] = ordinate + 1;
+                elemInfo[elem + 1] = etype;
+                elemInfo[elem + 2] = interpretation;
+            }
+            elem += 3;
+        }
+
+        void check() {
+            assert elemInfo == null || elem == elemInfo.length
+                    : "Wrote " + elem + " of " + elemInfo.length + " elemInfo";
+            assert ordinates == null || ordinate <= ordinates.length
+                    : "Wrote " + ordinate + " of " + ordinates.length + " ordinates";
+        }
+
+        /** Ordinates written, trimmed if repeated points were removed */
+        double[] ordinates() {
+            return ordinate == ordinates.length ? ordinates : Arrays.copyOf(ordinates, ordinate);
+        }
+    }
+
+    //
+    // Counts
+    //
+
+    private int coordinateCount(Geometry geom, final int LEN) {
+        switch (SDOUtils.TT(geom)) {
+            case SDOGeometryType.POINT:
+                return ((Point) geom).getCoordinateSequence().size();
+
+            case SDOGeometryType.LINE:
+                return ((LineString) geom).getCoordinateSequence().size();
+
+            case SDOGeometryType.POLYGON:
+                return coordinateCount((Polygon) geom, LEN);
+
+            case SDOGeometryType.MULTIPOINT:
+            case SDOGeometryType.MULTILINE:
+            case SDOGeometryType.MULTIPOLYGON:
+            case SDOGeometryType.COLLECTION:
+                int count = 0;
+                for (int i = 0; i < geom.getNumGeometries(); i++) {
+                    Geometry part = geom.getGeometryN(i);
+                    if (isEncoded(part)) {
+                        count += coordinateCount(part, LEN);
+                    }
+                }
+                return count;
+        }
+
+        throw cannotEncode(geom);
+    }
+
+    private int coordinateCount(Polygon polygon, final int LEN) {
+        switch (interpretation(polygon, LEN)) {
+            case 3:
+                return 2;
+
+            case 1:
+                if (polygon.isEmpty()) {
+                    return 0;
+                }
+                int count = polygon.getExteriorRing().getCoordinateSequence().size();
+                for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+                    count += polygon.getInteriorRingN(i).getCoordinateSequence().size();
+                }
+                return count;
+
+            default: // curves and circles not supported
+                return 0;
+        }
+    }
+
+    private static int tripletCount(Geometry geom) {
+        switch (SDOUtils.TT(geom)) {
+            case SDOGeometryType.POINT:
+            case SDOGeometryType.LINE:
+            case SDOGeometryType.MULTIPOINT:
+                return 1;
+
+            case SDOGeometryType.POLYGON:
+                return 1 + ((Polygon) geom).getNumInteriorRing();
+
+            case SDOGeometryType.MULTILINE:
+            case SDOGeometryType.MULTIPOLYGON:
+            case SDOGeometryType.COLLECTION:
+                int count = 0;
+                for (int i = 0; i < geom.getNumGeometries(); i++) {
+                    Geometry part = geom.getGeometryN(i);
+                    if (isEncoded(part)) {
+                        count += tripletCount(part);
+                    }
+                }
+                return count;
+        }
+
+        throw cannotEncode(geom);
+    }
+
+    /** Parts of multi geometries and collections that are encoded */
+    private static boolean isEncoded(Geometry part) {
+        return part != null && !part.isEmpty();
+    }
+
+    //
+    // Encoding
+    //
+
+    private void encode(Geometry geom, Cursor cursor, final int D, final int LEN) {
+        switch (SDOUtils.TT(geom)) {
+            case SDOGeometryType.POINT:
+                cursor.triplet(SDOGeometryEType.POINT, 1); // INTERPRETATION single point
+                write(((Point) geom).getCoordinateSequence(), false, cursor, D, LEN, 1);
+                return;
+
+            case SDOGeometryType.LINE:
+                cursor.triplet(SDOGeometryEType.LINE, 1); // INTERPRETATION straight edges
+                write(((LineString) geom).getCoordinateSequence(), false, cursor, D, LEN, 2);
+                return;
+
+            case SDOGeometryType.POLYGON:
+                encode((Polygon) geom, cursor, D, LEN);
+                return;
+
+            case SDOGeometryType.MULTIPOINT:
+                int points = 0;
+                for (int i = 0; i < geom.getNumGeometries(); i++) {
+                    if (isEncoded(geom.getGeometryN(i))) points++;
+                }
+                cursor.triplet(SDOGeometryEType.POINT, points);
+                for (int i = 0; i < geom.getNumGeometries(); i++) {
+                    Geometry point = geom.getGeometryN(i);
+                    if (isEncoded(point)) {
+                        write(((Point) point).getCoordinateSequence(), false, cursor, D, LEN, 1);
+                    }
+                }
+                return;
+
+            case SDOGeometryType.MULTILINE:
+            case SDOGeometryType.MULTIPOLYGON:
+            case SDOGeometryType.COLLECTION:
+                for (int i = 0; i < geom.getNumGeometries(); i++) {
+                    Geometry part = geom.getGeometryN(i);
+                    if (isEncoded(part)) {
+                        encode(part, cursor, D, LEN);
+                    }
+                }
+                return;
+        }
+
+        throw cannotEncode(geom);
+    }
+
+    /**
+     * Rectangle (interpretation 3) or polygon with holes (interpretation 1), exterior ring
+     * counter clockwise and interior rings clockwise.
+     */
+    private void encode(Polygon polygon, Cursor cursor, final int D, final int LEN) {
+        final int INTERPRETATION = interpretation(polygon, LEN);
+        cursor.triplet(SDOGeometryEType.POLYGON_EXTERIOR, INTERPRETATION);
+        switch (INTERPRETATION) {
+            case 3: // LEN == 2, see interpretation(polygon, LEN)
+                Envelope e = polygon.getEnvelopeInternal();
+                double[] ordinates = cursor.ordinates;
+                int offset = cursor.ordinate;
+                if (ordinates != null) {
+                    ordinates[offset++] = snap(e.getMinX());
+                    ordinates[offset++] = snap(e.getMinY());
+                    ordinates[offset++] = snap(e.getMaxX());
+                    ordinates[offset++] = snap(e.getMaxY());
+                }
+                cursor.ordinate += 2 * LEN;
+                return;
+
+            case 1:
+                if (polygon.isEmpty()) {
+                    return;
+                }
+                // rings in the wrong orientation are reversed as they are written
+                CoordinateSequence exterior = polygon.getExteriorRing().getCoordinateSequence();
+                write(exterior, !SDOCoordinates.isCCW(exterior), cursor, D, LEN, 4);
+                for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+                    LineString ring = polygon.getInteriorRingN(i);
+                    cursor.triplet(
+                            SDOGeometryEType.POLYGON_INTERIOR,
+                            SDOUtils.elemInfoInterpretation(ring, SDOGeometryEType.POLYGON_INTERIOR));
+                    CoordinateSequence interior = ring.getCoordinateSequence();
+                    write(interior, SDOCoordinates.isCCW(interior), cursor, D, LEN, 4);
+                }
+                return;
+
+            default: // curves and circles not supported
+                for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+                    cursor.triplet(
+                            SDOGeometryEType.POLYGON_INTERIOR,
+                            SDOUtils.elemInfoInterpretation(
+                                    polygon.getInteriorRingN(i), SDOGeometryEType.POLYGON_INTERIOR));
+                }
+        }
+    }
+
+    /**
+     * INTERPRETATION of the exterior ring of polygon, 3 for rectangles when optimized.
+     *
+     * <p>Optimized rectangles only hold x and y: 3 is never returned unless LEN is 2, including
+     * for the rectangles SDOUtils.elemInfoInterpretation detects without a SRID.
+     *
+     * @param LEN ordinates per coordinate of the encoded geometry
+     */
+    private int interpretation(Polygon polygon, final int LEN) {
+        if (LEN != 2) {
+            final int INTERPRETATION = SDOUtils.elemInfoInterpretation(polygon);
+            return INTERPRETATION == 3 ? 1 : INTERPRETATION;
+        }
+        if (rectangleOptimization && isRectangle(polygon)) {
+            return 3;
+        }
+        return SDOUtils.elemInfoInterpretation(polygon);
+    }
+
+    /** Axis aligned rectangle of non zero width and height, without holes. */
+    private static boolean isRectangle(Polygon polygon) {
+        if (polygon.isEmpty() || polygon.getNumInteriorRing() != 0) {
+            return false;
+        }
+        CoordinateSequence ring = polygon.getExteriorRing().getCoordinateSequence();
+        if (ring.size() != 5) {
+            return false;
+        }
+        final double x0 = ring.getX(0), y0 = ring.getY(0);
+        final double x1 = ring.getX(1), y1 = ring.getY(1);
+        final double x2 = ring.getX(2), y2 = ring.getY(2);
+        final double x3 = ring.getX(3), y3 = ring.getY(3);
+        if (ring.getX(4) != x0 || ring.getY(4) != y0 || x0 == x2 || y0 == y2) {
+            return false;
+        }
+        return (x0 == x3 && y0 == y1 && x1 == x2 && y2 == y3) // horizontal first edge
+                || (x0 == x1 && y0 == y3 && x2 == x3 && y1 == y2); // vertical first edge
+    }
+
+    /**
+     * Writes the coordinates of sequence, in reverse order if requested.
+     *
+     * <p>CoordinateAccess provides its attributes as ordinates following the spatial ones.
+     *
+     * @param MIN coordinates kept when repeated points are removed, 1 for points
+     */
+    private void write(
+            CoordinateSequence sequence,
+            boolean reverse,
+            Cursor cursor,
+            final int D,
+            final int LEN,
+            final int MIN) {
+        final int SIZE = sequence.size();
+        if (precisionModel != null || (removeRepeatedPoints && MIN > 1)) {
+            final boolean REMOVE = removeRepeatedPoints && MIN > 1;
+            final boolean RING = MIN == 4 && SIZE > 0;
+            if (RING && !REMOVE) {
+                // distinct coordinates once snapped, counted without writing
+                if (reduce(sequence, reverse, new Cursor(null, null), D, LEN, true) < 4) {
+                    throw collapsed(sequence);
+                }
+            }
+            int count = reduce(sequence, reverse, cursor, D, LEN, REMOVE);
+            if (REMOVE && count < MIN && count < SIZE) {
+                if (RING) {
+                    throw collapsed(sequence);
+                }
+                // collapsed line, written unchanged so that the element stays valid
+                count = reduce(sequence, reverse, cursor, D, LEN, false);
+            }
+            if (RING
+                    && cursor.ordinates != null
+                    && SDOCoordinates.signedArea2(
+                                    new SDOOrdinateSlice(
+                                            cursor.ordinates, cursor.ordinate, count, LEN, LEN - D))
+                            == 0) {
+                throw collapsed(sequence);
+            }
+            cursor.ordinate += count * LEN;
+            return;
+        }
+        final double[] ordinates = cursor.ordinates;
+        if (ordinates == null) {
+            cursor.ordinate += SIZE * LEN;
+            return;
+        }
+        int offset = cursor.ordinate;
+        final int LAST = SIZE - 1;
+        if (sequence instanceof CoordinateAccess) {
+            for (int n = 0; n < SIZE; n++) {
+                final int i = reverse ? LAST - n : n;
+                for (int j = 0; j < LEN; j++) {
+                    ordinates[offset++] = sequence.getOrdinate(i, j);
+                }
+            }
+        } else {
+            for (int n = 0; n < SIZE; n++) {
+                final int i = reverse ? LAST - n : n;
+                ordinates[offset++] = sequence.getX(i);
+                ordinates[offset++] = sequence.getY(i);
+                if (D > 2) {
+                    ordinates[offset++] = sequence.getZ(i);
+                }
+                for (int j = D; j < LEN; j++) {
+                    ordinates[offset++] = sequence.getOrdinate(i, j);
+                }
+            }
+        }
+        cursor.ordinate = offset;
+    }
+
+    /**
+     * Writes the coordinates of sequence snapped to the precision model, skipping coordinates
+     * equal in x, y (and z) to the previous one written if remove is set.
+     *
+     * <p>The cursor does not advance, nothing is written if it has no ordinate array.
+     *
+     * @return number of coordinates written
+     */
+    private int reduce(
+            CoordinateSequence sequence,
+            boolean reverse,
+            Cursor cursor,
+            final int D,
+            final int LEN,
+            boolean remove) {
+        final int SIZE = sequence.size();
+        final int LAST = SIZE - 1;
+        final boolean ACCESS = sequence instanceof CoordinateAccess;
+        final double[] ordinates = cursor.ordinates;
+        int offset = cursor.ordinate;
+        double px = Double.NaN, py = Double.NaN, pz = Double.NaN;
+        int count = 0;
+        for (int n = 0; n < SIZE; n++) {
+            final int i = reverse ? LAST - n : n;
+            final double x = snap(sequence.getX(i));
+            final double y = snap(sequence.getY(i));
+            final double z =
+                    D > 2 ? (ACCESS ? sequence.getOrdinate(i, 2) : sequence.getZ(i)) : Double.NaN;
+            if (remove
+                    && count > 0
+                    && x == px
+                    && y == py
+                    && (z == pz || (Double.isNaN(z) && Double.isNaN(pz)))) {
+                continue;
+            }
+            px = x;
+            py = y;
+            pz = z;
+            count++;
+            if (ordinates != null) {
+                ordinates[offset++] = x;
+                ordinates[offset++] = y;
+                if (D > 2) {
+                    ordinates[offset++] = z;
+                }
+                for (int j = D; j < LEN; j++) {
+                    ordinates[offset++] = sequence.getOrdinate(i, j);
+                }
+            }
+        }
+        return count;
+    }
+
+    /** x or y snapped to the precision model */
+    private double snap(double ordinate) {
+        return precisionModel == null ? ordinate : precisionModel.makePrecise(ordinate);
+    }
+
+    /** Ring left without area once snapped, or without enough distinct coordinates */
+    private IllegalArgumentException collapsed(CoordinateSequence ring) {
+        return new IllegalArgumentException(
+                "Ring of "
+                        + ring.size()
+                        + " coordinates starting at ("
+                        + ring.getX(0)
+                        + " "
+                        + ring.getY(0)
+                        + (precisionModel == null
+                                ? ") collapses once repeated points are removed"
+                                : ") collapses when snapped to " + precisionModel));
+    }
+
+    private static IllegalArgumentException cannotEncode(Geometry geom) {
+        return new IllegalArgumentException(
+                "Cannot encode JTS "
+                        + geom.getGeometryType()
+                        + " as "
+                        + "SDO_ORDINATRES (Limitied to Point, Line, Polygon, "
+                        + "GeometryCollection, MultiPoint, MultiLineString and MultiPolygon)");
+    }
+}
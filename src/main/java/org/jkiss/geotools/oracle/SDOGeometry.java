@@ -0,0 +1,93 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import java.util.Arrays;
+
+/**
+ * The attributes of an SDO_GEOMETRY as plain Java values.
+ *
+ * <p>Arrays are shared, not copied: they are owned by this object once constructed.
+ *
+ * <pre><code><b>
+ * Attribute     Value</b>
+ * SDO_GTYPE     gtype
+ * SDO_SRID      srid, SDOUtils.SRID_NULL for NULL
+ * SDO_POINT     point (x,y,z), null for NULL
+ * SDO_ELEM_INFO elemInfo, null for NULL
+ * SDO_ORDINATES ordinates, null for NULL
+ * </code></pre>
+ */
+public final class SDOGeometry {
+    private final int gtype;
+
+    private final int srid;
+
+    private final double[] point;
+
+    private final int[] elemInfo;
+
+    private final double[] ordinates;
+
+    public SDOGeometry(int gtype, int srid, double[] point, int[] elemInfo, double[] ordinates) {
+        this.gtype = gtype;
+        this.srid = srid;
+        this.point = point;
+        this.elemInfo = elemInfo;
+        this.ordinates = ordinates;
+    }
+
+    /** SDO_GTYPE, encoding of <b>D</b>imension, <b>L</b>RS and <b>TT</b>ype */
+    public int getGType() {
+        return gtype;
+    }
+
+    /** SDO_SRID, SDOUtils.SRID_NULL if NULL */
+    public int getSRID() {
+        return srid;
+    }
+
+    /** SDO_POINT as (x,y,z), null if not used */
+    public double[] getPoint() {
+        return point;
+    }
+
+    /** SDO_ELEM_INFO, null if not used */
+    public int[] getElemInfo() {
+        return elemInfo;
+    }
+
+    /** SDO_ORDINATES, null if not used */
+    public double[] getOrdinates() {
+        return ordinates;
+    }
+
+    @Override
+    public String toString() {
+        return "SDO_GEOMETRY("
+                + gtype
+                + ", "
+                + (srid == SDOUtils.SRID_NULL ? "NULL" : String.valueOf(srid))
+                + ", "
+                + (point == null ? "NULL" : Arrays.toString(point))
+                + ", "
+                + (elemInfo == null ? "NULL" : Arrays.toString(elemInfo))
+                + ", "
+                + (ordinates == null ? "NULL" : Arrays.toString(ordinates))
+                + ")";
+    }
+}
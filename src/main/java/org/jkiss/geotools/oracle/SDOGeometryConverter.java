@@ -19,8 +19,15 @@ package org.jkiss.geotools.oracle;
 import org.locationtech.jts.geom.*;
 
 import java.sql.Array;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Struct;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Sample use of SDOUtils class for simple JTS Geometry.
@@ -33,15 +40,160 @@ import java.sql.Struct;
 public class SDOGeometryConverter {
     private final GeometryFactory geometryFactory;
 
+    private final SDOStructFactory structFactory;
+
+    private SDOCircularArcs arcs = SDOCircularArcs.DEFAULT;
+
+    private final SDOEncoder encoder = new SDOEncoder();
+
+    private UserDataPolicy userDataPolicy = UserDataPolicy.STRUCT;
+
+    /** What asGeometry keeps as Geometry user data. */
+    public enum UserDataPolicy {
+        /** The source STRUCT, pinning its attributes and driver resources */
+        STRUCT,
+        /** A shared SDOGeometryHeader holding GTYPE and SRID */
+        HEADER,
+        /** Nothing, user data is left untouched */
+        NONE
+    }
+
     public SDOGeometryConverter() {
         this(new GeometryFactory());
     }
 
     public SDOGeometryConverter(GeometryFactory geometryFactory) {
+        this(geometryFactory, (SDOStructFactory) null);
+    }
+
+    /** Converter able to encode geometries as SDO_GEOMETRY using connection. */
+    public SDOGeometryConverter(GeometryFactory geometryFactory, Connection connection) {
+        this(geometryFactory, new SDOConnectionStructFactory(connection));
+    }
+
+    /**
+     * Converter able to encode geometries as SDO_GEOMETRY.
+     *
+     * @param geometryFactory Used to construct decoded geometries
+     * @param structFactory Used to create encoded STRUCTs and ARRAYs, <code>null</code> for a
+     *     decode only converter
+     */
+    public SDOGeometryConverter(GeometryFactory geometryFactory, SDOStructFactory structFactory) {
         this.geometryFactory = geometryFactory;
+        this.structFactory = structFactory;
+        this.encoder.setRectangleOptimization(true);
+    }
+
+    public UserDataPolicy getUserDataPolicy() {
+        return userDataPolicy;
+    }
+
+    /**
+     * Sets what decoded geometries keep as user data.
+     *
+     * <p>Use HEADER or NONE for geometries that outlive the result set, the STRUCT retains its
+     * attribute arrays and connection bound descriptors.
+     *
+     * @param userDataPolicy policy, STRUCT by default
+     */
+    public void setUserDataPolicy(UserDataPolicy userDataPolicy) {
+        if (userDataPolicy == null) {
+            throw new NullPointerException("userDataPolicy");
+        }
+        this.userDataPolicy = userDataPolicy;
+    }
+
+    /**
+     * Maximum distance between a circular arc and its linearization.
+     *
+     * @return arc tolerance, <code>Double.POSITIVE_INFINITY</code> for the minimum density
+     */
+    public double getArcTolerance() {
+        return arcs.getTolerance();
+    }
+
+    /**
+     * Sets the maximum distance between a circular arc (or circle) and the straight segments used
+     * to represent it.
+     *
+     * @param tolerance arc tolerance in ordinate units
+     */
+    public void setArcTolerance(double tolerance) {
+        this.arcs =
+                tolerance == Double.POSITIVE_INFINITY
+                        ? SDOCircularArcs.DEFAULT
+                        : new SDOCircularArcs(tolerance);
+    }
+
+    /** Checks if toSDO encodes points as SDO_POINT. */
+    public boolean isPointOptimization() {
+        return encoder.isPointOptimization();
+    }
+
+    /**
+     * Encode non LRS 2D and 3D points as SDO_POINT, without SDO_ELEM_INFO and SDO_ORDINATES.
+     *
+     * @param pointOptimization <code>true</code> by default
+     */
+    public void setPointOptimization(boolean pointOptimization) {
+        encoder.setPointOptimization(pointOptimization);
+    }
+
+    /** Checks if toSDO encodes rectangles as optimized rectangles. */
+    public boolean isRectangleOptimization() {
+        return encoder.isRectangleOptimization();
+    }
+
+    /**
+     * Encode 2D axis aligned rectangles without holes as optimized rectangles (1003/3).
+     *
+     * <p>A few operators, SDO_FILTER among them, only work properly with rectangular windows
+     * encoded this way.
+     *
+     * @param rectangleOptimization <code>true</code> by default
+     */
+    public void setRectangleOptimization(boolean rectangleOptimization) {
+        encoder.setRectangleOptimization(rectangleOptimization);
+    }
+
+    /** Precision model ordinates are snapped to when encoding, null for full doubles. */
+    public PrecisionModel getPrecisionModel() {
+        return encoder.getPrecisionModel();
+    }
+
+    /**
+     * Snap x and y to precisionModel when encoding, usually the layer tolerance: 0.001 is <code>
+     * new PrecisionModel(1000)</code>.
+     *
+     * @param precisionModel <code>null</code> by default
+     */
+    public void setPrecisionModel(PrecisionModel precisionModel) {
+        encoder.setPrecisionModel(precisionModel);
+    }
+
+    /** Checks if consecutive repeated points are removed when encoding. */
+    public boolean isRemoveRepeatedPoints() {
+        return encoder.isRemoveRepeatedPoints();
+    }
+
+    /**
+     * Remove consecutive repeated points of lines and rings when encoding, once snapped to the
+     * precision model.
+     *
+     * @param removeRepeatedPoints <code>false</code> by default
+     */
+    public void setRemoveRepeatedPoints(boolean removeRepeatedPoints) {
+        encoder.setRemoveRepeatedPoints(removeRepeatedPoints);
     }
 
     public static final String DATATYPE = "MDSYS.SDO_GEOMETRY";
+
+    public static final String POINT_DATATYPE = "MDSYS.SDO_POINT_TYPE";
+
+    public static final String ELEM_INFO_DATATYPE = "MDSYS.SDO_ELEM_INFO_ARRAY";
+
+    public static final String ORDINATE_DATATYPE = "MDSYS.SDO_ORDINATE_ARRAY";
+
     /**
      * Used to handle MDSYS.SDO_GEOMETRY.
      *
@@ -88,6 +240,58 @@ public class SDOGeometryConverter {
         // Note Returning null for null Datum
         if (sdoGeometry == null) return null;
 
+        return asGeometry(asSDOGeometry(sdoGeometry), sdoGeometry);
+    }
+
+    /**
+     * Convert provided SDO_GEOMETRY attributes to JTS Geometry.
+     *
+     * <p>Does not touch any driver object, may be called from any thread. With the STRUCT user
+     * data policy the SDOGeometry is kept as user data.
+     *
+     * @param sdo attributes to be converted
+     * @return JTS <code>Geometry</code> representing the provided attributes
+     */
+    public Geometry asGeometry(SDOGeometry sdo) {
+        return asGeometry(sdo, sdo);
+    }
+
+    private Geometry asGeometry(SDOGeometry sdo, Object source) {
+        final int GTYPE = sdo.getGType();
+        final int SRID = sdo.getSRID();
+        Geometry geometry =
+                SDOUtils.create(
+                        geometryFactory,
+                        GTYPE,
+                        SRID,
+                        sdo.getPoint(),
+                        sdo.getElemInfo(),
+                        sdo.getOrdinates(),
+                        arcs);
+        switch (userDataPolicy) {
+            case STRUCT:
+                geometry.setUserData(source);
+                break;
+            case HEADER:
+                geometry.setUserData(SDOGeometryHeader.valueOf(GTYPE, SRID));
+                break;
+            default:
+                break;
+        }
+        return geometry;
+    }
+
+    /**
+     * Extract the attributes of provided SDO_GEOMETRY as plain Java values.
+     *
+     * <p>Will return <code>null</code> as <code>null</code>.
+     *
+     * @param sdoGeometry datum STRUCT to be read
+     * @return SDO_GEOMETRY attributes, no longer depending on the driver
+     */
+    public SDOGeometry asSDOGeometry(Struct sdoGeometry) throws Exception {
+        if (sdoGeometry == null) return null;
+
         Object data[] = sdoGeometry.getAttributes();
         final int GTYPE = asInteger(data[0], 0);
         final int SRID = asInteger(data[1], SDOUtils.SRID_NULL);
@@ -95,114 +299,225 @@ public class SDOGeometryConverter {
         final int ELEMINFO[] = asIntArray((Array) data[3], 0);
         final double ORDINATES[] = asDoubleArray((Array) data[4], Double.NaN);
 
-        Geometry geometry = SDOUtils.create(geometryFactory, GTYPE, SRID, POINT, ELEMINFO, ORDINATES);
-        geometry.setUserData(sdoGeometry);
-        return geometry;
+        return new SDOGeometry(GTYPE, SRID, POINT, ELEMINFO, ORDINATES);
     }
 
     /**
-     * Used to convert double[] to SDO_ODINATE_ARRAY.
+     * Convert a page of SDO_GEOMETRY to JTS Geometry using the common ForkJoinPool.
      *
-     * <p>Will return <code>null</code> as an empty <code>SDO_GEOMETRY</code>
+     * @see #asGeometries(List, ForkJoinPool)
+     */
+    public ForkJoinTask<List<Geometry>> asGeometries(List<? extends Struct> sdoGeometries)
+            throws Exception {
+        return asGeometries(sdoGeometries, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Convert a page of SDO_GEOMETRY to JTS Geometry in parallel.
      *
-     * @param geom Map to be represented as a STRUCT
-     * @return STRUCT representing provided Map
-     * @see net.refractions.jspatial.Converter#toDataType(java.lang.Object)
+     * <p>Driver objects are not thread safe: the attributes of every STRUCT are extracted on the
+     * calling (fetch) thread before this method returns. Decoding is then split across the pool,
+     * the caller may fetch the next page while the returned task completes.
      *
-    public Struct toSDO(Geometry geom) throws SQLException {
-        return toSDO(geom, geom.getSRID());
-    }*/
+     * <p><code>null</code> elements are returned as <code>null</code>, the result list keeps the
+     * order of sdoGeometries. Decoding errors are reported by the task.
+     *
+     * @param sdoGeometries page of datum STRUCTs
+     * @param pool pool used to decode
+     * @return task completing with the decoded geometries
+     */
+    public ForkJoinTask<List<Geometry>> asGeometries(
+            List<? extends Struct> sdoGeometries, ForkJoinPool pool) throws Exception {
+        final int SIZE = sdoGeometries.size();
+        SDOGeometry[] page = new SDOGeometry[SIZE];
+        Object[] sources = new Object[SIZE];
+        int index = 0;
+        for (Struct struct : sdoGeometries) {
+            page[index] = asSDOGeometry(struct);
+            sources[index] = struct;
+            index++;
+        }
+        return pool.submit(new PageTask(this, page, sources));
+    }
+
+    /** Decodes a page of SDOGeometry, splitting it across the pool. */
+    private static final class PageTask extends RecursiveTask<List<Geometry>> {
+        private static final long serialVersionUID = -8260470186853839457L;
+
+        private final SDOGeometryConverter converter;
+
+        private final SDOGeometry[] page;
+
+        private final Object[] sources;
+
+        PageTask(SDOGeometryConverter converter, SDOGeometry[] page, Object[] sources) {
+            this.converter = converter;
+            this.page = page;
+            this.sources = sources;
+        }
+
+        @Override
+        protected List<Geometry> compute() {
+            Geometry[] geometries = new Geometry[page.length];
+            new DecodeTask(converter, page, sources, geometries, 0, page.length).invoke();
+            return Arrays.asList(geometries);
+        }
+    }
+
+    private static final class DecodeTask extends RecursiveAction {
+        private static final long serialVersionUID = 6000872262911716475L;
+
+        /** Rows decoded by a task without splitting it further */
+        private static final int THRESHOLD = 64;
+
+        private final SDOGeometryConverter converter;
+
+        private final SDOGeometry[] page;
+
+        private final Object[] sources;
+
+        private final Geometry[] geometries;
+
+        private final int from;
+
+        private final int to;
+
+        DecodeTask(
+                SDOGeometryConverter converter,
+                SDOGeometry[] page,
+                Object[] sources,
+                Geometry[] geometries,
+                int from,
+                int to) {
+            this.converter = converter;
+            this.page = page;
+            this.sources = sources;
+            this.geometries = geometries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    SDOGeometry sdo = page[i];
+                    geometries[i] = sdo != null ? converter.asGeometry(sdo, sources[i]) : null;
+                }
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(
+                    new DecodeTask(converter, page, sources, geometries, from, middle),
+                    new DecodeTask(converter, page, sources, geometries, middle, to));
+        }
+    }
+
+    /**
+     * Bounding box of provided SDO_GEOMETRY, without building the JTS Geometry.
+     *
+     * <p>Will return <code>null</code> as <code>null</code>.
+     *
+     * @param sdoGeometry datum STRUCT to be scanned
+     * @return Envelope of the geometry (arcs and circles included exactly)
+     */
+    public Envelope asEnvelope(Struct sdoGeometry) throws Exception {
+        if (sdoGeometry == null) return null;
+
+        SDOGeometry sdo = asSDOGeometry(sdoGeometry);
+        return SDOUtils.envelope(
+                sdo.getGType(), sdo.getPoint(), sdo.getElemInfo(), sdo.getOrdinates());
+    }
 
     /**
-     * Used to convert double[] to SDO_ODINATE_ARRAY.
+     * Used to convert a JTS Geometry to SDO_GEOMETRY.
      *
      * <p>Will return <code>null</code> as an empty <code>SDO_GEOMETRY</code>
      *
-     * @param geom Map to be represented as a STRUCT
-     * @return STRUCT representing provided Map
-     * @see net.refractions.jspatial.Converter#toDataType(java.lang.Object)
+     * @param geom Geometry to be represented as a STRUCT
+     * @return STRUCT representing provided Geometry
+     */
+    public Struct toSDO(Geometry geom) throws SQLException {
+        return toSDO(geom, geom != null ? geom.getSRID() : SDOUtils.SRID_NULL);
+    }
+
+    /**
+     * Used to convert a JTS Geometry to SDO_GEOMETRY.
+     *
+     * <p>Will return <code>null</code> as an empty <code>SDO_GEOMETRY</code>
      *
+     * @param geom Geometry to be represented as a STRUCT
+     * @param srid SDO_SRID, <code>SDOUtils.SRID_NULL</code> or 0 for NULL
+     * @return STRUCT representing provided Geometry
+     */
     public Struct toSDO(Geometry geom, int srid) throws SQLException {
         if (geom == null || geom.isEmpty()) return asEmptyDataType();
 
-        int gtype = SDOUtils.gType(geom);
-        NUMBER SDO_GTYPE = new NUMBER(gtype);
-
-        NUMBER SDO_SRID = (srid == SDOUtils.SRID_NULL || srid == 0) ? null : new NUMBER(srid);
-
-        double[] point = SDOUtils.point(geom);
-        STRUCT SDO_POINT;
-
-        ARRAY SDO_ELEM_INFO;
-        ARRAY SDO_ORDINATES;
-
-        if (point == null) {
-            final Envelope env = geom.getEnvelopeInternal();
-            if (env.getWidth() > 0
-                    && env.getHeight() > 0
-                    && !(geom instanceof GeometryCollection)
-                    && geom.isRectangle()) {
-                // rectangle optimization. Actually, more than an optimization. A few operators
-                // do not work properly if they don't get rectangular geoms encoded as rectangles
-                // SDO_FILTER is an example of this silly situation
-                SDO_POINT = null;
-                int elemInfo[] = new int[] {1, 1003, 3};
-                double ordinates[];
-                if (SDOUtils.D(geom) == 2)
-                    ordinates =
-                            new double[] {
-                                env.getMinX(), env.getMinY(), env.getMaxX(), env.getMaxY()
-                            };
-                else
-                    ordinates =
-                            new double[] {
-                                env.getMinX(), env.getMinY(), 0, env.getMaxX(), env.getMaxY(), 0
-                            };
-
-                SDO_POINT = null;
-                SDO_ELEM_INFO = toARRAY(elemInfo, "MDSYS.SDO_ELEM_INFO_ARRAY");
-                SDO_ORDINATES = toARRAY(ordinates, "MDSYS.SDO_ORDINATE_ARRAY");
-            } else {
-                int elemInfo[] = SDOUtils.elemInfo(geom);
-                double ordinates[] = SDOUtils.ordinates(geom);
-
-                SDO_POINT = null;
-                SDO_ELEM_INFO = toARRAY(elemInfo, "MDSYS.SDO_ELEM_INFO_ARRAY");
-                SDO_ORDINATES = toARRAY(ordinates, "MDSYS.SDO_ORDINATE_ARRAY");
-            }
-        } else { // Point Optimization
-            Datum data[] =
-                    new Datum[] {
-                        toNUMBER(point[0]), toNUMBER(point[1]), toNUMBER(point[2]),
-                    };
-            SDO_POINT = toSTRUCT(data, "MDSYS.SDO_POINT_TYPE");
-            SDO_ELEM_INFO = null;
-            SDO_ORDINATES = null;
+        // SDO_POINT and optimized rectangles as configured on the encoder
+        return toSDO(encoder.encode(geom, srid));
+    }
+
+    /**
+     * Used to convert SDO_GEOMETRY attributes to SDO_GEOMETRY.
+     *
+     * @param sdo attributes to be represented as a STRUCT
+     * @return STRUCT representing the provided attributes
+     */
+    public Struct toSDO(SDOGeometry sdo) throws SQLException {
+        return toSDO(
+                sdo.getGType(),
+                sdo.getSRID(),
+                sdo.getPoint(),
+                sdo.getElemInfo(),
+                sdo.getOrdinates());
+    }
+
+    /**
+     * Used to convert SDOUtils encoded information to SDO_GEOMETRY.
+     *
+     * @param gtype SDO_GTYPE
+     * @param srid SDO_SRID, <code>SDOUtils.SRID_NULL</code> or 0 for NULL
+     * @param point SDO_POINT (x,y,z), <code>null</code> if not used
+     * @param elemInfo SDO_ELEM_INFO, <code>null</code> if not used
+     * @param ordinates SDO_ORDINATES, <code>null</code> if not used
+     * @return STRUCT representing the provided information
+     */
+    public Struct toSDO(int gtype, int srid, double[] point, int[] elemInfo, double[] ordinates)
+            throws SQLException {
+        Object SDO_GTYPE = Integer.valueOf(gtype);
+        Object SDO_SRID = (srid == SDOUtils.SRID_NULL || srid == 0) ? null : Integer.valueOf(srid);
+        Struct SDO_POINT = null;
+        Array SDO_ELEM_INFO = null;
+        Array SDO_ORDINATES = null;
+
+        if (point != null) {
+            Object data[] =
+                    new Object[] {toNUMBER(point[0]), toNUMBER(point[1]), toNUMBER(point[2])};
+            SDO_POINT = toSTRUCT(data, POINT_DATATYPE);
+        }
+        if (elemInfo != null) {
+            SDO_ELEM_INFO = toARRAY(elemInfo, ELEM_INFO_DATATYPE);
         }
-        Datum attributes[] =
-                new Datum[] {SDO_GTYPE, SDO_SRID, SDO_POINT, SDO_ELEM_INFO, SDO_ORDINATES};
+        if (ordinates != null) {
+            SDO_ORDINATES = toORDINATE(ordinates);
+        }
+        Object attributes[] =
+                new Object[] {SDO_GTYPE, SDO_SRID, SDO_POINT, SDO_ELEM_INFO, SDO_ORDINATES};
         return toSTRUCT(attributes, DATATYPE);
     }
-*/
+
     /**
      * Representation of <code>null</code> as an Empty <code>SDO_GEOMETRY</code>.
      *
      * @return <code>null</code> as a SDO_GEOMETRY
-     *
-    protected STRUCT asEmptyDataType() throws SQLException {
-        return toSTRUCT(null, DATATYPE);
-    }*/
-
-/*
-    protected final STRUCT toSTRUCT(Datum attributes[], String dataType) throws SQLException {
-        if (dataType.startsWith("*.")) {
-            dataType = "DRA." + dataType.substring(2); // TODO here
-        }
-        StructDescriptor descriptor = StructDescriptor.createDescriptor(dataType, connection);
+     */
+    protected Struct asEmptyDataType() throws SQLException {
+        return toSTRUCT(new Object[5], DATATYPE);
+    }
 
-        return new STRUCT(descriptor, connection, attributes);
+    protected final Struct toSTRUCT(Object attributes[], String dataType) throws SQLException {
+        return structFactory().createStruct(dataType, attributes);
     }
-*/
 
     /**
      * Convience method for ARRAY construction.
@@ -210,138 +525,59 @@ public class SDOGeometryConverter {
      * <p>Compare and contrast with toORDINATE - which treats <code>Double.NaN</code> as<code>NULL
      * </code>
      */
-/*
-    protected final ARRAY toARRAY(double doubles[], String dataType) throws SQLException {
-        ArrayDescriptor descriptor = ArrayDescriptor.createDescriptor(dataType, connection);
+    protected final Array toARRAY(double doubles[], String dataType) throws SQLException {
+        return structFactory().createArray(dataType, doubles);
+    }
 
-        return new ARRAY(descriptor, connection, doubles);
+    protected final Array toARRAY(int ints[], String dataType) throws SQLException {
+        return structFactory().createArray(dataType, ints);
     }
-*/
 
     /**
-     * Convience method for ARRAY construction.
+     * Convience method for SDO_ORDINATE_ARRAY construction.
      *
-     * <p>Forced to burn memory here - only way to actually place <code>NULL</code> numbers in the
-     * ordinate stream.
+     * <p>The primitive array is used as is, unless it holds <code>Double.NaN</code>: the only way
+     * to actually place <code>NULL</code> numbers in the ordinate stream is to burn memory on a
+     * boxed copy.
      *
      * <ul>
      *   <li>JTS: records lack of data as <code>Double.NaN</code>
      *   <li>SDOUtils: records lack of data as <code>NULL</code>
      * </ul>
-     *
-     * <p>The alternative is to construct the array from a array of doubles, which does not record
-     * <code>NULL</code> NUMBERs.
-     *
-     * <p>The results is an "MDSYS.SDO_ORDINATE_ARRAY" <code><pre>
-     * list     = c1(1,2,0), c2(3,4,Double.NaN)
-     * measures = {{5,6},{7,8}
-     *
-     * toORDINATE( list, measures, 2 )
-     * = (1,2,5,7, 3,4,6,8)
-     *
-     * toORDINATE( list, measures, 3 )
-     * = (1,2,0,5,7, 3,4,NULL,6,8)
-     *
-     * toORDINATE( list, null, 2 )
-     * = (1,2, 3,4)
-     * </pre></code>
-     *
-     * @param list CoordinateList to be represented
-     * @param measures Per Coordinate Measures, <code>null</code> if not required
-     * @param D Dimension of SDOCoordinates (limited to 2d, 3d)
-     *
-    protected final ARRAY toORDINATE(CoordinateList list, double measures[][], final int D)
-            throws SQLException {
-        ArrayDescriptor descriptor =
-                ArrayDescriptor.createDescriptor("MDSYS.SDO_ORDINATE_ARRAY", connection);
-
-        final int LENGTH = measures != null ? measures.length : 0;
-        final int LEN = D + LENGTH;
-        Datum data[] = new Datum[list.size() * LEN];
-        int offset = 0;
-        int index = 0;
-        Coordinate coord;
-
-        for (Iterator i = list.iterator(); i.hasNext(); index++) {
-            coord = (Coordinate) i.next();
-
-            data[offset++] = toNUMBER(coord.x);
-            data[offset++] = toNUMBER(coord.y);
-            if (D == 3) {
-                data[offset++] = toNUMBER(coord.x);
-            }
-            for (int j = 0; j < LENGTH; j++) {
-                data[offset++] = toNUMBER(measures[j][index]);
-            }
-        }
-        return new ARRAY(descriptor, connection, data);
-    }
-*/
-/*
-
-    protected final ARRAY toORDINATE(double ords[]) throws SQLException {
-        ArrayDescriptor descriptor =
-                ArrayDescriptor.createDescriptor("MDSYS.SDO_ORDINATE_ARRAY", connection);
-
+     */
+    protected final Array toORDINATE(double ords[]) throws SQLException {
         final int LENGTH = ords.length;
-
-        Datum data[] = new Datum[LENGTH];
-
-        for (int i = 0; i < LENGTH; i++) {
-            data[i] = toNUMBER(ords[i]);
+        int i = 0;
+        while (i < LENGTH && !Double.isNaN(ords[i])) i++;
+        if (i == LENGTH) {
+            return toARRAY(ords, ORDINATE_DATATYPE);
         }
-        return new ARRAY(descriptor, connection, data);
-    }
-
-    protected final ARRAY toATTRIBUTE(double ords[], String desc) throws SQLException {
-        ArrayDescriptor descriptor = ArrayDescriptor.createDescriptor(desc, connection);
-
-        final int LENGTH = ords.length;
-
-        Datum data[] = new Datum[LENGTH];
-
-        for (int i = 0; i < LENGTH; i++) {
+        Object data[] = new Object[LENGTH];
+        for (i = 0; i < LENGTH; i++) {
             data[i] = toNUMBER(ords[i]);
         }
-        return new ARRAY(descriptor, connection, data);
+        return structFactory().createArray(ORDINATE_DATATYPE, data);
     }
 
     /**
      * Convience method for NUMBER construction.
      *
      * <p>Double.NaN is represented as <code>NULL</code> to agree with JTS use.
-     *
-    protected final NUMBER toNUMBER(double number) throws SQLException {
+     */
+    protected final Double toNUMBER(double number) {
         if (Double.isNaN(number)) {
             return null;
         }
-        return new NUMBER(number);
-    }
-
-    protected final ARRAY toARRAY(int ints[], String dataType) throws SQLException {
-        ArrayDescriptor descriptor = ArrayDescriptor.createDescriptor(dataType, connection);
-
-        return new ARRAY(descriptor, connection, ints);
-    }
-
-
-    protected final NUMBER toNUMBER(int number) {
-        return new NUMBER(number);
+        return Double.valueOf(number);
     }
 
-    protected final CHAR toCHAR(String s) {
-
-        // make sure if the string is larger than one character, only take the first character
-        if (s.length() > 1) s = new String((new Character(s.charAt(0))).toString());
-        try {
-            // BUG: make sure I am correct
-            return new CHAR(s, CharacterSet.make(CharacterSet.ISO_LATIN_1_CHARSET));
-        } catch (SQLException e) {
-            java.util.logging.Logger.getGlobal().log(java.util.logging.Level.INFO, "", e);
+    private SDOStructFactory structFactory() throws SQLException {
+        if (structFactory == null) {
+            throw new SQLException(
+                    "SDOGeometryConverter was created without a Connection or SDOStructFactory");
         }
-        return null;
+        return structFactory;
     }
-*/
 
     //
     // These functions present Datum as a Java type
@@ -51,6 +51,37 @@ public interface SDOGeometryEType {
     /** <code>SDOGeometryEType</code> code representing interior surface CCW polygon ring */
     int FACE_INTERIOR = 2006;
 
+    /**
+     * <code>SDOGeometryEType</code> code representing an exterior composite surface.
+     *
+     * <p>INTERPRETATION gives the number of polygons following, each an exterior ring and its
+     * interior rings.
+     */
+    int SURFACE_EXTERIOR = 1006;
+
+    /**
+     * <code>SDOGeometryEType</code> code representing an interior composite surface, the boundary
+     * of a void within a solid.
+     *
+     * <p>INTERPRETATION gives the number of polygons following.
+     */
+    int SURFACE_INTERIOR = 2006;
+
+    /**
+     * <code>SDOGeometryEType</code> code representing a simple solid.
+     *
+     * <p>INTERPRETATION 1 is followed by an exterior and optional interior surfaces, INTERPRETATION
+     * 3 is an axis aligned box given by its two corners.
+     */
+    int SOLID = 1007;
+
+    /**
+     * <code>SDOGeometryEType</code> code representing a composite solid.
+     *
+     * <p>INTERPRETATION gives the number of simple solids following.
+     */
+    int COMPOSITE_SOLID = 1008;
+
     /**
      * <code>SDOGeometryEType</code> code representing compound linestring
      *
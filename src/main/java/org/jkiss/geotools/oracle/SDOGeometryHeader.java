@@ -0,0 +1,113 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * SDO_GTYPE and SDO_SRID of a decoded SDO_GEOMETRY.
+ *
+ * <p>Kept as Geometry user data in place of the source STRUCT, see
+ * SDOGeometryConverter.setUserDataPolicy. Instances are immutable and shared: valueOf returns the
+ * same instance for the same GTYPE and SRID.
+ */
+public final class SDOGeometryHeader implements Serializable {
+    private static final long serialVersionUID = 4410284217650381032L;
+
+    private static final ConcurrentMap<Long, SDOGeometryHeader> CACHE = new ConcurrentHashMap<>();
+
+    private final int gtype;
+
+    private final int srid;
+
+    private SDOGeometryHeader(int gtype, int srid) {
+        this.gtype = gtype;
+        this.srid = srid;
+    }
+
+    /**
+     * Header for GTYPE and SRID.
+     *
+     * @param gtype SDO_GTYPE
+     * @param srid SDO_SRID, SDOUtils.SRID_NULL for NULL
+     */
+    public static SDOGeometryHeader valueOf(int gtype, int srid) {
+        final Long key = ((long) gtype << 32) | (srid & 0xFFFFFFFFL);
+        SDOGeometryHeader header = CACHE.get(key);
+        if (header == null) {
+            header = new SDOGeometryHeader(gtype, srid);
+            SDOGeometryHeader existing = CACHE.putIfAbsent(key, header);
+            if (existing != null) {
+                header = existing;
+            }
+        }
+        return header;
+    }
+
+    /** SDO_GTYPE, encoding of <b>D</b>imension, <b>L</b>RS and <b>TT</b>ype */
+    public int getGType() {
+        return gtype;
+    }
+
+    /** SDO_SRID, SDOUtils.SRID_NULL if NULL */
+    public int getSRID() {
+        return srid;
+    }
+
+    /** D as encoded in GTYPE */
+    public int getDimension() {
+        return SDOUtils.D(gtype);
+    }
+
+    /** L as encoded in GTYPE */
+    public int getLRS() {
+        return SDOUtils.L(gtype);
+    }
+
+    /** SDOGeometryType as encoded in GTYPE */
+    public int getGeometryType() {
+        return SDOUtils.TT(gtype);
+    }
+
+    private Object readResolve() {
+        return valueOf(gtype, srid);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof SDOGeometryHeader)) return false;
+        SDOGeometryHeader other = (SDOGeometryHeader) obj;
+        return gtype == other.gtype && srid == other.srid;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * gtype + srid;
+    }
+
+    @Override
+    public String toString() {
+        return "SDO_GEOMETRY("
+                + gtype
+                + ", "
+                + (srid == SDOUtils.SRID_NULL ? "NULL" : String.valueOf(srid))
+                + ")";
+    }
+}
@@ -0,0 +1,654 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.ParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Parses SDO_GEOMETRY SQL constructor literals, as written by SDOLiteralWriter, without a
+ * database.
+ *
+ * <p>Input is scanned by hand from a character buffer: numbers are accumulated into primitive
+ * arrays without regex, String or boxing (numbers with a mantissa beyond 2^53 or an exponent beyond
+ * 10^22 fall back to Double.parseDouble). Schema qualified or quoted type names, NULL values, SQL comments and the
+ * CAST(MULTISET(...)) form used for arrays over 999 values are understood, with or without the
+ * ordered chunk subquery SDOLiteralWriter wraps the chunks in.
+ *
+ * <p>Use readSDO to parse a literal at the current position, or nextSDO to skip ahead to the next
+ * SDO_GEOMETRY constructor of a SQL script (string literals and comments are skipped).
+ *
+ * <pre><code>
+ * SDOLiteralReader reader = new SDOLiteralReader(geometryFactory, new FileReader(script));
+ * for (Geometry g = reader.nextGeometry(); g != null; g = reader.nextGeometry()) {
+ *     ...
+ * }
+ * </code></pre>
+ *
+ * <p>A reader is not thread safe.
+ */
+public class SDOLiteralReader {
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Longest numeric literal accepted */
+    private static final int MAX_NUMBER_LENGTH = 128;
+
+    private final GeometryFactory geometryFactory;
+
+    private final Reader in;
+
+    private final CharSequence text;
+
+    private int textPosition;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private int position;
+
+    private int limit;
+
+    /** Characters discarded before buffer[0] */
+    private long consumed;
+
+    /** Identifier text */
+    private final StringBuilder token = new StringBuilder(32);
+
+    private double[] values = new double[256];
+
+    private int count;
+
+    /** Chunk index and start in values of the chunks of a CAST(MULTISET(...)) array */
+    private int[] chunkIndex = new int[8];
+
+    private int[] chunkStart = new int[8];
+
+    /**
+     * Reader parsing from a character stream.
+     *
+     * @param geometryFactory Used by readGeometry and nextGeometry
+     * @param in SQL text
+     */
+    public SDOLiteralReader(GeometryFactory geometryFactory, Reader in) {
+        this.geometryFactory = geometryFactory;
+        this.in = in;
+        this.text = null;
+    }
+
+    /**
+     * Reader parsing from text in memory.
+     *
+     * @param geometryFactory Used by readGeometry and nextGeometry
+     * @param text SQL text
+     */
+    public SDOLiteralReader(GeometryFactory geometryFactory, CharSequence text) {
+        this.geometryFactory = geometryFactory;
+        this.in = null;
+        this.text = text;
+    }
+
+    /**
+     * Parses the SDO_GEOMETRY literal at the current position.
+     *
+     * @return Parsed geometry, <code>null</code> for NULL
+     */
+    public Geometry readGeometry() throws IOException, ParseException {
+        return create(readSDO());
+    }
+
+    /**
+     * Skips ahead to the next SDO_GEOMETRY constructor and parses it.
+     *
+     * @return Parsed geometry, <code>null</code> at end of input
+     */
+    public Geometry nextGeometry() throws IOException, ParseException {
+        return create(nextSDO());
+    }
+
+    /**
+     * Parses the SDO_GEOMETRY literal at the current position.
+     *
+     * @return Parsed attributes, <code>null</code> for NULL
+     */
+    public SDOGeometry readSDO() throws IOException, ParseException {
+        skipSpace();
+        readWord();
+        if (matches("NULL")) {
+            return null;
+        }
+        if (!matches("SDO_GEOMETRY")) {
+            throw error("Expected SDO_GEOMETRY");
+        }
+        expect('(');
+        return geometry();
+    }
+
+    /**
+     * Skips ahead to the next SDO_GEOMETRY constructor and parses it.
+     *
+     * @return Parsed attributes, <code>null</code> at end of input
+     */
+    public SDOGeometry nextSDO() throws IOException, ParseException {
+        while (true) {
+            final int c = peek();
+            if (c < 0) {
+                return null;
+            }
+            if (c == '\'') {
+                position++;
+                skipQuoted();
+            } else if (isComment(c)) {
+                skipComment();
+            } else if (isWordStart(c)) {
+                readWord();
+                if (matches("SDO_GEOMETRY")) {
+                    skipSpace();
+                    if (peek() == '(') {
+                        position++;
+                        return geometry();
+                    }
+                }
+            } else {
+                position++;
+            }
+        }
+    }
+
+    private Geometry create(SDOGeometry sdo) {
+        if (sdo == null) {
+            return null;
+        }
+        return SDOUtils.create(
+                geometryFactory,
+                sdo.getGType(),
+                sdo.getSRID(),
+                sdo.getPoint(),
+                sdo.getElemInfo(),
+                sdo.getOrdinates());
+    }
+
+    /** SDO_GEOMETRY arguments following the opening parenthesis. */
+    private SDOGeometry geometry() throws IOException, ParseException {
+        final int GTYPE = (int) integer(number());
+        expect(',');
+        skipSpace();
+        double srid = nullableNumber();
+        final int SRID = Double.isNaN(srid) ? SDOUtils.SRID_NULL : (int) integer(srid);
+        expect(',');
+        double[] point = point();
+        expect(',');
+        int[] elemInfo = null;
+        if (array("SDO_ELEM_INFO_ARRAY")) {
+            elemInfo = new int[count];
+            for (int i = 0; i < count; i++) {
+                elemInfo[i] = (int) integer(values[i]);
+            }
+        }
+        expect(',');
+        double[] ordinates = array("SDO_ORDINATE_ARRAY") ? Arrays.copyOf(values, count) : null;
+        expect(')');
+        return new SDOGeometry(GTYPE, SRID, point, elemInfo, ordinates);
+    }
+
+    /** SDO_POINT_TYPE(x, y, z) or NULL. */
+    private double[] point() throws IOException, ParseException {
+        skipSpace();
+        readWord();
+        if (matches("NULL")) {
+            return null;
+        }
+        if (!matches("SDO_POINT_TYPE")) {
+            throw error("Expected SDO_POINT_TYPE");
+        }
+        expect('(');
+        double[] point = new double[3];
+        for (int i = 0; i < 3; i++) {
+            if (i > 0) expect(',');
+            skipSpace();
+            point[i] = nullableNumber();
+        }
+        expect(')');
+        return point;
+    }
+
+    /**
+     * Reads an array constructor, or its CAST(MULTISET(...)) concatenation, into values.
+     *
+     * @return <code>false</code> for NULL
+     */
+    private boolean array(String typeName) throws IOException, ParseException {
+        count = 0;
+        skipSpace();
+        readWord();
+        if (matches("NULL")) {
+            return false;
+        }
+        if (matches(typeName)) {
+            expect('(');
+            elements();
+            return true;
+        }
+        if (!matches("CAST")) {
+            throw error("Expected " + typeName);
+        }
+        expect('(');
+        expectWord("MULTISET");
+        expect('(');
+        boolean derived = false; // SELECT COLUMN_VALUE FROM (chunks) ORDER BY C, N
+        int chunks = 0;
+        boolean ordered = true;
+        while (true) {
+            expectWord("SELECT");
+            final int INDEX = selectList();
+            skipSpace();
+            if (!derived && peek() == '(') {
+                position++;
+                derived = true;
+                continue;
+            }
+            expectWord("TABLE");
+            expect('(');
+            expectWord(typeName);
+            expect('(');
+            if (chunks == chunkIndex.length) {
+                chunkIndex = Arrays.copyOf(chunkIndex, chunks * 2);
+                chunkStart = Arrays.copyOf(chunkStart, chunks * 2);
+            }
+            chunkIndex[chunks] = INDEX == -1 ? chunks : INDEX;
+            chunkStart[chunks] = count;
+            ordered &= chunks == 0 || chunkIndex[chunks] > chunkIndex[chunks - 1];
+            chunks++;
+            elements();
+            expect(')');
+            skipSpace();
+            if (!isWordStart(peek())) {
+                break;
+            }
+            expectWord("UNION");
+            expectWord("ALL");
+        }
+        if (derived) {
+            expect(')');
+            skipSpace();
+            if (isWordStart(peek())) {
+                expectWord("ORDER");
+                expectWord("BY");
+                skipOrderBy();
+            }
+        }
+        expect(')');
+        expectWord("AS");
+        expectWord(typeName);
+        expect(')');
+        if (!ordered) {
+            sortChunks(chunks);
+        }
+        return true;
+    }
+
+    /**
+     * Skips a select list up to and including FROM: <code>*</code>, <code>COLUMN_VALUE</code> or
+     * <code>0 C, ROWNUM N, COLUMN_VALUE</code>.
+     *
+     * @return chunk index selected as first item, -1 if none
+     */
+    private int selectList() throws IOException, ParseException {
+        int index = -1;
+        int item = 0;
+        while (true) {
+            skipSpace();
+            final int c = peek();
+            if (c == '*') {
+                position++;
+            } else if (c == ',') {
+                position++;
+                item++;
+            } else if (c >= '0' && c <= '9') {
+                final double VALUE = integer(number());
+                if (item == 0) {
+                    index = (int) VALUE;
+                }
+            } else {
+                readWord();
+                if (token.length() == 0) {
+                    throw error("Expected FROM");
+                }
+                if (matches("FROM")) {
+                    return index;
+                }
+            }
+        }
+    }
+
+    /** Reorders the chunks of values by chunk index, as ORDER BY C does. */
+    private void sortChunks(final int CHUNKS) throws ParseException {
+        int[] order = new int[CHUNKS]; // few chunks, insertion sort
+        for (int i = 0; i < CHUNKS; i++) {
+            int j = i;
+            for (; j > 0 && chunkIndex[order[j - 1]] > chunkIndex[i]; j--) {
+                order[j] = order[j - 1];
+            }
+            order[j] = i;
+        }
+        double[] sorted = new double[values.length];
+        int at = 0;
+        for (int i = 0; i < CHUNKS; i++) {
+            final int CHUNK = order[i];
+            if (i > 0 && chunkIndex[CHUNK] == chunkIndex[order[i - 1]]) {
+                throw error("Duplicate array chunk " + chunkIndex[CHUNK]);
+            }
+            final int START = chunkStart[CHUNK];
+            final int END = CHUNK + 1 < CHUNKS ? chunkStart[CHUNK + 1] : count;
+            System.arraycopy(values, START, sorted, at, END - START);
+            at += END - START;
+        }
+        values = sorted;
+    }
+
+    /** Skips the ORDER BY list of the chunk subquery, up to the closing parenthesis. */
+    private void skipOrderBy() throws IOException, ParseException {
+        while (true) {
+            skipSpace();
+            final int c = peek();
+            if (c == ')') {
+                return;
+            }
+            if (c == ',') {
+                position++;
+                continue;
+            }
+            readWord();
+            if (token.length() == 0) {
+                throw error("Expected ')'");
+            }
+        }
+    }
+
+    /** Comma separated values following the opening parenthesis, appended to values. */
+    private void elements() throws IOException, ParseException {
+        skipSpace();
+        if (peek() == ')') {
+            position++;
+            return;
+        }
+        while (true) {
+            skipSpace();
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nullableNumber();
+            skipSpace();
+            final int c = read();
+            if (c == ')') {
+                return;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or ')'");
+            }
+        }
+    }
+
+    /** Number or NULL (as NaN), at the current position. */
+    private double nullableNumber() throws IOException, ParseException {
+        if (isWordStart(peek())) {
+            readWord();
+            if (!matches("NULL")) {
+                throw error("Expected number or NULL");
+            }
+            return Double.NaN;
+        }
+        return number();
+    }
+
+    /**
+     * Numeric literal: sign, digits, fraction, exponent and an optional binary suffix.
+     *
+     * <p>The literal is scanned in place in the buffer. The digits are accumulated in a long, when
+     * below 2^53 the result of a single multiplication or division by an exact power of ten is the
+     * correctly rounded value.
+     */
+    private double number() throws IOException, ParseException {
+        skipSpace();
+        peek(MAX_NUMBER_LENGTH - 1); // whole literal in buffer
+        final char[] b = buffer;
+        final int START = position;
+        final int END = Math.min(limit, START + MAX_NUMBER_LENGTH);
+        int i = START;
+        boolean negative = false;
+        if (i < END && (b[i] == '-' || b[i] == '+')) {
+            negative = b[i++] == '-';
+        }
+        long mantissa = 0;
+        int digits = 0; // significant digits accumulated
+        int scale = 0; // fraction digits accumulated
+        int dropped = 0; // integer digits beyond long precision
+        boolean any = false;
+        boolean fraction = false;
+        boolean exact = true;
+        for (; i < END; i++) {
+            final char c = b[i];
+            if (c >= '0' && c <= '9') {
+                any = true;
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) digits++;
+                    if (fraction) scale++;
+                } else {
+                    exact = false;
+                    if (!fraction) dropped++;
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (!any) {
+            throw error("Expected number");
+        }
+        int exponent = 0;
+        if (i < END && (b[i] == 'e' || b[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < END && (b[i] == '-' || b[i] == '+')) {
+                negativeExponent = b[i++] == '-';
+            }
+            final int EXPONENT_START = i;
+            for (; i < END && b[i] >= '0' && b[i] <= '9'; i++) {
+                if (exponent < 100000) exponent = exponent * 10 + (b[i] - '0');
+            }
+            if (i == EXPONENT_START) {
+                position = i;
+                throw error("Expected exponent");
+            }
+            if (negativeExponent) exponent = -exponent;
+        }
+        if (i == START + MAX_NUMBER_LENGTH) {
+            position = i;
+            throw error("Number too long");
+        }
+        final int LENGTH = i - START;
+        if (i < END && (b[i] == 'd' || b[i] == 'D' || b[i] == 'f' || b[i] == 'F')) {
+            i++; // BINARY_DOUBLE / BINARY_FLOAT literal
+        }
+        position = i;
+        final int EXP10 = exponent - scale + dropped;
+        final double[] POW10 = SDOOrdinateFormat.POW10;
+        if (exact && mantissa < SDOOrdinateFormat.MAX_EXACT && Math.abs(EXP10) < POW10.length) {
+            double value =
+                    EXP10 >= 0 ? mantissa * POW10[EXP10] : mantissa / POW10[-EXP10];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(new String(b, START, LENGTH));
+    }
+
+    private double integer(double value) throws ParseException {
+        if (value != Math.rint(value) || Math.abs(value) > Integer.MAX_VALUE) {
+            throw error("Expected integer");
+        }
+        return value;
+    }
+
+    /** Reads identifier characters into token, quotes are dropped. */
+    private void readWord() throws IOException {
+        token.setLength(0);
+        int c;
+        while ((c = peek()) >= 0 && (isWordStart(c) || (c >= '0' && c <= '9') || c == '.')) {
+            if (c != '"') token.append((char) c);
+            position++;
+        }
+    }
+
+    /** Case insensitive match of token, ignoring any schema prefix. */
+    private boolean matches(String name) {
+        final int LENGTH = name.length();
+        final int START = token.length() - LENGTH;
+        if (START < 0 || (START > 0 && token.charAt(START - 1) != '.')) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            if (Character.toUpperCase(token.charAt(START + i)) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void expectWord(String name) throws IOException, ParseException {
+        skipSpace();
+        readWord();
+        if (!matches(name)) {
+            throw error("Expected " + name);
+        }
+    }
+
+    private void expect(char expected) throws IOException, ParseException {
+        skipSpace();
+        if (read() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private static boolean isWordStart(int c) {
+        return (c >= 'A' && c <= 'Z')
+                || (c >= 'a' && c <= 'z')
+                || c == '_'
+                || c == '$'
+                || c == '#'
+                || c == '"';
+    }
+
+    private boolean isComment(int c) throws IOException {
+        return (c == '-' && peek(1) == '-') || (c == '/' && peek(1) == '*');
+    }
+
+    /** Skips whitespace and comments. */
+    private void skipSpace() throws IOException {
+        while (true) {
+            final int c = peek();
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f') {
+                position++;
+            } else if (isComment(c)) {
+                skipComment();
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void skipComment() throws IOException {
+        final boolean LINE = peek() == '-';
+        position += 2;
+        int c;
+        while ((c = read()) >= 0) {
+            if (LINE ? c == '\n' : c == '*' && peek() == '/') {
+                if (!LINE) position++;
+                return;
+            }
+        }
+    }
+
+    /** Skips a string literal following its opening quote. */
+    private void skipQuoted() throws IOException {
+        int c;
+        while ((c = read()) >= 0 && c != '\'') {}
+    }
+
+    private int read() throws IOException {
+        final int c = peek();
+        if (c >= 0) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        return position < limit || fill() ? buffer[position] : -1;
+    }
+
+    /** Character after the current one, -1 at end of input. */
+    private int peek(int ahead) throws IOException {
+        while (position + ahead >= limit) {
+            if (!fill()) {
+                return -1;
+            }
+        }
+        return buffer[position + ahead];
+    }
+
+    /**
+     * Moves the remaining characters to the start of the buffer and reads more.
+     *
+     * @return <code>false</code> at end of input
+     */
+    private boolean fill() throws IOException {
+        final int REMAINING = limit - position;
+        System.arraycopy(buffer, position, buffer, 0, REMAINING);
+        consumed += position;
+        position = 0;
+        limit = REMAINING;
+        int n;
+        if (in != null) {
+            n = in.read(buffer, limit, buffer.length - limit);
+        } else {
+            n = Math.min(buffer.length - limit, text.length() - textPosition);
+            if (text instanceof String) {
+                ((String) text).getChars(textPosition, textPosition + n, buffer, limit);
+            } else if (text instanceof StringBuilder) {
+                ((StringBuilder) text).getChars(textPosition, textPosition + n, buffer, limit);
+            } else {
+                for (int i = 0; i < n; i++) {
+                    buffer[limit + i] = text.charAt(textPosition + i);
+                }
+            }
+            textPosition += n;
+            if (n == 0) n = -1;
+        }
+        if (n > 0) {
+            limit += n;
+        }
+        return n > 0;
+    }
+
+    private ParseException error(String message) {
+        return new ParseException(message + " at character " + (consumed + position));
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import org.locationtech.jts.geom.Geometry;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes SDO_GEOMETRY SQL constructor literals, for use in INSERT scripts.
+ *
+ * <pre><code>
+ * MDSYS.SDO_GEOMETRY(2003, 4326, NULL,
+ *     MDSYS.SDO_ELEM_INFO_ARRAY(1, 1003, 1),
+ *     MDSYS.SDO_ORDINATE_ARRAY(0, 0, 1, 0, 1, 1, 0, 0))
+ * </code></pre>
+ *
+ * <p>Oracle accepts at most 1000 arguments per function call. Longer arrays are split into chunks
+ * of MAX_ARGUMENTS values and concatenated. A UNION ALL does not guarantee the order of its rows,
+ * each value is tagged with its chunk and its ROWNUM within the chunk and the values are ordered
+ * by both:
+ *
+ * <pre><code>
+ * CAST(MULTISET(SELECT COLUMN_VALUE FROM (
+ *     SELECT 0 C, ROWNUM N, COLUMN_VALUE FROM TABLE(MDSYS.SDO_ORDINATE_ARRAY(...))
+ *     UNION ALL SELECT 1, ROWNUM, COLUMN_VALUE FROM TABLE(MDSYS.SDO_ORDINATE_ARRAY(...))
+ * ) ORDER BY C, N) AS MDSYS.SDO_ORDINATE_ARRAY)
+ * </code></pre>
+ *
+ * <p>Text is gathered in a small buffer passed on to the destination as it fills up and at the
+ * end of each literal, large geometries are streamed without building a String. Ordinates are
+ * written with SDOOrdinateFormat, NaN as NULL.
+ *
+ * <p>A writer is not thread safe.
+ */
+public class SDOLiteralWriter {
+    /** Maximum number of values written in a single array constructor */
+    public static final int MAX_ARGUMENTS = 999;
+
+    private static final int FLUSH_SIZE = 8192;
+
+    private final Appendable out;
+
+    private final SDOOrdinateFormat format;
+
+    private final SDOEncoder encoder = new SDOEncoder();
+
+    private final StringBuilder buffer = new StringBuilder(FLUSH_SIZE + 64);
+
+    private char[] chars;
+
+    public SDOLiteralWriter(Appendable out) {
+        this(out, SDOOrdinateFormat.SHORTEST);
+    }
+
+    /**
+     * Writer using the provided ordinate format.
+     *
+     * @param out destination
+     * @param format used to write SDO_POINT and SDO_ORDINATES values
+     */
+    public SDOLiteralWriter(Appendable out, SDOOrdinateFormat format) {
+        this.out = out;
+        this.format = format;
+    }
+
+    /**
+     * Writes geom using its own SRID, <code>NULL</code> for null or empty geometries.
+     *
+     * @param geom Geometry to write
+     */
+    public void write(Geometry geom) throws IOException {
+        write(geom, geom != null ? geom.getSRID() : SDOUtils.SRID_NULL);
+    }
+
+    /**
+     * Writes geom, <code>NULL</code> for null or empty geometries.
+     *
+     * @param geom Geometry to write
+     * @param srid SDO_SRID, <code>SDOUtils.SRID_NULL</code> or 0 for NULL
+     */
+    public void write(Geometry geom, int srid) throws IOException {
+        if (geom == null || geom.isEmpty()) {
+            buffer.append("NULL");
+            drain();
+            return;
+        }
+        write(encoder.encode(geom, srid));
+    }
+
+    /** Writes the provided SDO_GEOMETRY attributes, <code>NULL</code> for null. */
+    public void write(SDOGeometry sdo) throws IOException {
+        if (sdo == null) {
+            buffer.append("NULL");
+            drain();
+            return;
+        }
+        write(sdo.getGType(), sdo.getSRID(), sdo.getPoint(), sdo.getElemInfo(), sdo.getOrdinates());
+    }
+
+    /**
+     * Writes the provided SDO_GEOMETRY attributes.
+     *
+     * @param gtype SDO_GTYPE
+     * @param srid SDO_SRID, <code>SDOUtils.SRID_NULL</code> or 0 for NULL
+     * @param point SDO_POINT (x,y,z), <code>null</code> if not used
+     * @param elemInfo SDO_ELEM_INFO, <code>null</code> if not used
+     * @param ordinates SDO_ORDINATES, <code>null</code> if not used
+     */
+    public void write(int gtype, int srid, double[] point, int[] elemInfo, double[] ordinates)
+            throws IOException {
+        buffer.append(SDOGeometryConverter.DATATYPE).append('(');
+        buffer.append(gtype).append(", ");
+        if (srid == SDOUtils.SRID_NULL || srid == 0) {
+            buffer.append("NULL");
+        } else {
+            buffer.append(srid);
+        }
+        buffer.append(", ");
+        if (point == null) {
+            buffer.append("NULL");
+        } else {
+            buffer.append(SDOGeometryConverter.POINT_DATATYPE).append('(');
+            for (int i = 0; i < 3; i++) {
+                if (i > 0) buffer.append(", ");
+                ordinate(i < point.length ? point[i] : Double.NaN);
+            }
+            buffer.append(')');
+        }
+        buffer.append(", ");
+        if (elemInfo == null) {
+            buffer.append("NULL");
+        } else {
+            array(SDOGeometryConverter.ELEM_INFO_DATATYPE, null, elemInfo, elemInfo.length);
+        }
+        buffer.append(", ");
+        if (ordinates == null) {
+            buffer.append("NULL");
+        } else {
+            array(SDOGeometryConverter.ORDINATE_DATATYPE, ordinates, null, ordinates.length);
+        }
+        buffer.append(')');
+        drain();
+    }
+
+    /** Flushes the destination if it is a Writer. */
+    public void flush() throws IOException {
+        drain();
+        if (out instanceof Writer) {
+            ((Writer) out).flush();
+        }
+    }
+
+    /** Array constructor of either doubles or ints, chunked as required. */
+    private void array(String typeName, double[] doubles, int[] ints, final int LENGTH)
+            throws IOException {
+        if (LENGTH <= MAX_ARGUMENTS) {
+            chunk(typeName, doubles, ints, 0, LENGTH);
+            return;
+        }
+        buffer.append("CAST(MULTISET(SELECT COLUMN_VALUE FROM (");
+        for (int start = 0; start < LENGTH; start += MAX_ARGUMENTS) {
+            final int CHUNK = start / MAX_ARGUMENTS;
+            if (CHUNK == 0) {
+                buffer.append("SELECT 0 C, ROWNUM N, COLUMN_VALUE FROM TABLE(");
+            } else {
+                buffer.append(" UNION ALL SELECT ").append(CHUNK);
+                buffer.append(", ROWNUM, COLUMN_VALUE FROM TABLE(");
+            }
+            chunk(typeName, doubles, ints, start, Math.min(LENGTH, start + MAX_ARGUMENTS));
+            buffer.append(')');
+        }
+        buffer.append(") ORDER BY C, N) AS ").append(typeName).append(')');
+    }
+
+    private void chunk(String typeName, double[] doubles, int[] ints, int start, int end)
+            throws IOException {
+        buffer.append(typeName).append('(');
+        for (int i = start; i < end; i++) {
+            if (i > start) buffer.append(", ");
+            if (doubles != null) {
+                ordinate(doubles[i]);
+            } else {
+                buffer.append(ints[i]);
+            }
+            flushIfFull();
+        }
+        buffer.append(')');
+    }
+
+    private void ordinate(double value) {
+        if (Double.isNaN(value)) {
+            buffer.append("NULL");
+        } else if (Double.isInfinite(value)) {
+            throw new IllegalArgumentException("SDO ordinates cannot be infinite: " + value);
+        } else {
+            format.format(value, buffer);
+        }
+    }
+
+    private void flushIfFull() throws IOException {
+        if (buffer.length() >= FLUSH_SIZE) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        final int LENGTH = buffer.length();
+        if (LENGTH == 0) {
+            return;
+        }
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(buffer);
+        } else if (out instanceof Writer) {
+            if (chars == null || chars.length < LENGTH) {
+                chars = new char[Math.max(LENGTH, FLUSH_SIZE + 64)];
+            }
+            buffer.getChars(0, LENGTH, chars, 0);
+            ((Writer) out).write(chars, 0, LENGTH);
+        } else {
+            out.append(buffer);
+        }
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import org.locationtech.jts.geom.PrecisionModel;
+
+import java.io.IOException;
+
+/**
+ * Formats ordinates as plain decimal text, writing characters straight into an Appendable.
+ *
+ * <p>SHORTEST writes the shortest decimal that parses back to the same double: the value is scaled
+ * by increasing powers of ten until it is an integer below 2^53 that divides back to the exact same
+ * double, the digits of that integer are then written with the decimal point in place. Values
+ * that do not fit (very large, very small or full precision values) fall back to
+ * Double.toString, which also round trips.
+ *
+ * <p>Fixed instances round to a maximum number of fraction digits (half even, trailing zeros
+ * dropped), like a DecimalFormat without grouping, see valueOf(PrecisionModel).
+ *
+ * <p>No DecimalFormat or intermediate String is used on the fast path. Instances are immutable,
+ * cached and thread safe.
+ */
+public final class SDOOrdinateFormat {
+    /** Shortest text parsing back to the same double */
+    public static final SDOOrdinateFormat SHORTEST = new SDOOrdinateFormat(-1);
+
+    /** Largest integer such that all smaller integers are exact doubles */
+    static final double MAX_EXACT = 9007199254740992d; // 2^53
+
+    /** Exact powers of ten as doubles (up to 10^22) */
+    static final double[] POW10 = new double[23];
+
+    private static final long[] LONG_POW10 = new long[19];
+
+    static {
+        double p = 1;
+        for (int i = 0; i < POW10.length; i++) {
+            POW10[i] = p;
+            p *= 10;
+        }
+        long l = 1;
+        for (int i = 0; i < LONG_POW10.length; i++) {
+            LONG_POW10[i] = l;
+            l *= 10;
+        }
+    }
+
+    /** Fixed instances, indexed by maximum fraction digits */
+    private static final SDOOrdinateFormat[] FIXED = new SDOOrdinateFormat[POW10.length];
+
+    static {
+        for (int i = 0; i < FIXED.length; i++) {
+            FIXED[i] = new SDOOrdinateFormat(i);
+        }
+    }
+
+    /** Maximum fraction digits, -1 for shortest round trip */
+    private final int maximumFractionDigits;
+
+    private SDOOrdinateFormat(int maximumFractionDigits) {
+        this.maximumFractionDigits = maximumFractionDigits;
+    }
+
+    /**
+     * Format rounding to at most maximumFractionDigits.
+     *
+     * <p>Beyond 22 digits SHORTEST is returned, which never loses precision.
+     *
+     * @param maximumFractionDigits digits written after the decimal point
+     */
+    public static SDOOrdinateFormat getInstance(int maximumFractionDigits) {
+        if (maximumFractionDigits < 0) {
+            throw new IllegalArgumentException(
+                    "Maximum fraction digits must be positive: " + maximumFractionDigits);
+        }
+        return maximumFractionDigits < FIXED.length ? FIXED[maximumFractionDigits] : SHORTEST;
+    }
+
+    /**
+     * Format for the provided precision model, as SDOCoordinates.format(PrecisionModel).
+     *
+     * <p>The maximum significant digits of the model are used as maximum fraction digits, no
+     * fraction digits are written without a model.
+     *
+     * @param pm PrecisionModel, may be null
+     */
+    public static SDOOrdinateFormat valueOf(PrecisionModel pm) {
+        return getInstance(pm == null ? 0 : pm.getMaximumSignificantDigits());
+    }
+
+    /** Maximum fraction digits, -1 for shortest round trip */
+    public int getMaximumFractionDigits() {
+        return maximumFractionDigits;
+    }
+
+    /**
+     * Appends value to out.
+     *
+     * <p>NaN and infinite values are written as NaN, Infinity and -Infinity.
+     *
+     * @param value ordinate to format
+     * @param out destination
+     */
+    public void format(double value, Appendable out) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append(Double.isNaN(value) ? "NaN" : value > 0 ? "Infinity" : "-Infinity");
+            return;
+        }
+        if (maximumFractionDigits >= 0) {
+            formatFixed(value, out);
+            return;
+        }
+        if (value == 0) {
+            out.append('0'); // -0.0 included
+            return;
+        }
+        final double abs = Math.abs(value);
+        if (abs < MAX_EXACT) {
+            for (int scale = 0; scale < POW10.length; scale++) {
+                final double p = POW10[scale];
+                final double scaled = abs * p;
+                if (scaled >= MAX_EXACT) {
+                    break;
+                }
+                final double unscaled = Math.rint(scaled);
+                if (unscaled / p == abs) {
+                    if (value < 0) {
+                        out.append('-');
+                    }
+                    appendDecimal((long) unscaled, scale, out);
+                    return;
+                }
+            }
+        }
+        out.append(Double.toString(value));
+    }
+
+    /**
+     * Rounds to maximumFractionDigits, fewer if the scaled value would exceed 2^53.
+     *
+     * <p>Rounding is half even on the exact binary value, as DecimalFormat: 0.95 is slightly below
+     * 0.95 and written as 0.9 with one fraction digit.
+     */
+    private void formatFixed(double value, Appendable out) throws IOException {
+        final double abs = Math.abs(value);
+        int scale = maximumFractionDigits;
+        while (scale > 0 && abs * POW10[scale] >= MAX_EXACT) {
+            scale--;
+        }
+        final double scaled = abs * POW10[scale];
+        if (scaled >= Long.MAX_VALUE) {
+            out.append(Double.toString(value));
+            return;
+        }
+        long unscaled = (long) Math.rint(scaled);
+        if (scaled - Math.floor(scaled) == 0.5) {
+            // tie after rounding the product, decide on the exact product error
+            final double ERROR = Math.fma(abs, POW10[scale], -scaled);
+            if (ERROR != 0) {
+                unscaled = (long) (ERROR > 0 ? Math.ceil(scaled) : Math.floor(scaled));
+            }
+        }
+        while (scale > 0 && unscaled % 10 == 0) {
+            unscaled /= 10;
+            scale--;
+        }
+        if (unscaled != 0 && value < 0) {
+            out.append('-');
+        }
+        appendDecimal(unscaled, scale, out);
+    }
+
+    /**
+     * Appends value to buffer.
+     *
+     * @param value ordinate to format
+     * @param buffer destination
+     * @return buffer
+     */
+    public StringBuilder format(double value, StringBuilder buffer) {
+        try {
+            format(value, (Appendable) buffer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // not thrown by StringBuilder
+        }
+        return buffer;
+    }
+
+    /** Formats value as a String. */
+    public String format(double value) {
+        return format(value, new StringBuilder(24)).toString();
+    }
+
+    /** Writes unscaled / 10^scale, most significant digit first. */
+    static void appendDecimal(long unscaled, int scale, Appendable out) throws IOException {
+        int digits = 1;
+        while (digits < LONG_POW10.length && unscaled >= LONG_POW10[digits]) {
+            digits++;
+        }
+        final int width = Math.max(digits, scale + 1); // at least one integer digit
+        for (int i = width - 1; i >= 0; i--) {
+            if (i == scale - 1) {
+                out.append('.');
+            }
+            final long digit = i < digits ? (unscaled / LONG_POW10[i]) % 10 : 0;
+            out.append((char) ('0' + digit));
+        }
+    }
+}
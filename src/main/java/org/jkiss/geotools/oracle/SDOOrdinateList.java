@@ -20,16 +20,18 @@
 package org.jkiss.geotools.oracle;
 
 import java.util.AbstractList;
+import java.util.RandomAccess;
 
 /**
  * Used to provide a List API of an ordinate array.
  *
- * <p>Insertions are not supported
+ * <p>Insertions are not supported. Use getDouble and copyTo rather than get, which boxes every
+ * value.
  *
  * @author jgarnett, Refractions Reasearch Inc.
  * @version CVS Version
  */
-public class SDOOrdinateList extends AbstractList {
+public class SDOOrdinateList extends AbstractList<Double> implements RandomAccess {
     final double ARRAY[];
     final int OFFSET;
     final int LEN; // number of things in stuff
@@ -72,8 +74,8 @@ public class SDOOrdinateList extends AbstractList {
      * @param index
      * @see java.util.List#get(int)
      */
-    public Object get(int index) {
-        return new Double(getDouble(index));
+    public Double get(int index) {
+        return Double.valueOf(getDouble(index));
     }
     /** Quick double access */
     public double getDouble(int index) {
@@ -81,11 +83,30 @@ public class SDOOrdinateList extends AbstractList {
         return ARRAY[START + STEP * index + OFFSET];
     }
 
-    public double[] toDoubleArray() {
-        double array[] = new double[size()];
-        for (int i = 0; i < size(); i++) {
-            array[i] = getDouble(i);
+    /**
+     * Copies all values into array, starting at offset.
+     *
+     * <p>Consecutive values (LEN 1 read forward) are copied with System.arraycopy, other layouts
+     * with a single strided loop.
+     *
+     * @return index following the last value written
+     */
+    public int copyTo(double[] array, int offset) {
+        final int FIRST = START + OFFSET;
+        if (STEP == 1) {
+            System.arraycopy(ARRAY, FIRST, array, offset, SIZE);
+            return offset + SIZE;
         }
+        final int STOP = offset + SIZE;
+        for (int i = offset, index = FIRST; i < STOP; i++, index += STEP) {
+            array[i] = ARRAY[index];
+        }
+        return STOP;
+    }
+
+    public double[] toDoubleArray() {
+        double array[] = new double[SIZE];
+        copyTo(array, 0);
         return array;
     }
     /**
@@ -0,0 +1,182 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Coordinates;
+import org.locationtech.jts.geom.Envelope;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * CoordinateSequence view over a range of a packed ordinate array <code>(x,y[,z][,m],...)</code>.
+ *
+ * <p>Used to decode geometries with many parts (solid faces, point clusters) over the ordinates
+ * array itself: every part is a slice of the same buffer rather than a copy. Changes made with
+ * setOrdinate are visible to all slices sharing the buffer, copy() detaches a slice.
+ *
+ * <p>Example: the second of two triangles in 3D
+ *
+ * <pre><code>
+ * new SDOOrdinateSlice( ordinates, 12, 4, 3, 0 );
+ * </code></pre>
+ */
+public final class SDOOrdinateSlice implements CoordinateSequence, Serializable {
+    private static final long serialVersionUID = 3466618186290364537L;
+
+    private final double[] ordinates;
+
+    /** Index of the first ordinate of the slice */
+    private final int offset;
+
+    private final int size;
+
+    /** Ordinates per coordinate, including measures */
+    private final int dimension;
+
+    private final int measures;
+
+    /**
+     * Slice of size coordinates starting at offset.
+     *
+     * @param ordinates packed ordinates, not copied
+     * @param offset index of the first ordinate of the slice
+     * @param size number of coordinates
+     * @param dimension ordinates per coordinate, including measures
+     * @param measures number of measures, stored after the spatial ordinates
+     */
+    public SDOOrdinateSlice(double[] ordinates, int offset, int size, int dimension, int measures) {
+        if (dimension < 2 || measures < 0 || dimension - measures < 2) {
+            throw new IllegalArgumentException(
+                    "Dimension " + dimension + " with " + measures + " measures not supported");
+        }
+        if (offset < 0 || size < 0 || offset + size * dimension > ordinates.length) {
+            throw new IllegalArgumentException(
+                    "Slice of "
+                            + size
+                            + " coordinates at "
+                            + offset
+                            + " exceeds "
+                            + ordinates.length
+                            + " ordinates");
+        }
+        this.ordinates = ordinates;
+        this.offset = offset;
+        this.size = size;
+        this.dimension = dimension;
+        this.measures = measures;
+    }
+
+    /** Shared ordinate buffer, not copied. */
+    public double[] getOrdinates() {
+        return ordinates;
+    }
+
+    /** Index of the first ordinate of the slice in getOrdinates(). */
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public int getMeasures() {
+        return measures;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Coordinate getCoordinate(int i) {
+        return getCoordinateCopy(i);
+    }
+
+    public Coordinate getCoordinateCopy(int i) {
+        Coordinate c = createCoordinate();
+        getCoordinate(i, c);
+        return c;
+    }
+
+    public void getCoordinate(int i, Coordinate coord) {
+        final int START = offset + i * dimension;
+        coord.x = ordinates[START];
+        coord.y = ordinates[START + 1];
+        for (int ordinate = 2; ordinate < dimension; ordinate++) {
+            coord.setOrdinate(ordinate, ordinates[START + ordinate]);
+        }
+    }
+
+    public Coordinate createCoordinate() {
+        return Coordinates.create(dimension, measures);
+    }
+
+    public double getX(int i) {
+        return ordinates[offset + i * dimension];
+    }
+
+    public double getY(int i) {
+        return ordinates[offset + i * dimension + 1];
+    }
+
+    public double getOrdinate(int i, int ordinate) {
+        return ordinates[offset + i * dimension + ordinate];
+    }
+
+    public void setOrdinate(int i, int ordinate, double value) {
+        ordinates[offset + i * dimension + ordinate] = value;
+    }
+
+    public Coordinate[] toCoordinateArray() {
+        Coordinate[] coords = new Coordinate[size];
+        for (int i = 0; i < size; i++) {
+            coords[i] = getCoordinateCopy(i);
+        }
+        return coords;
+    }
+
+    public Envelope expandEnvelope(Envelope env) {
+        final int END = offset + size * dimension;
+        for (int i = offset; i < END; i += dimension) {
+            env.expandToInclude(ordinates[i], ordinates[i + 1]);
+        }
+        return env;
+    }
+
+    /** Slice over a copy of this range of ordinates. */
+    public SDOOrdinateSlice copy() {
+        double[] copy = Arrays.copyOfRange(ordinates, offset, offset + size * dimension);
+        return new SDOOrdinateSlice(copy, 0, size, dimension, measures);
+    }
+
+    /** @deprecated use copy() */
+    @Deprecated
+    public Object clone() {
+        return copy();
+    }
+
+    public String toString() {
+        StringBuilder buf = new StringBuilder("SDOOrdinateSlice(");
+        SDOCoordinates.append(buf, this, SDOOrdinateFormat.SHORTEST);
+        buf.append(")");
+
+        return buf.toString();
+    }
+}
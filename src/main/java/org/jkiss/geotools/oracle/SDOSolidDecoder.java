@@ -0,0 +1,385 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Polygon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decodes SDO solids and composite surfaces into sets of 3D polygons.
+ *
+ * <ul>
+ *   <li>SOLID (x008): simple solid (1007) or composite solid (1008), a MultiPolygon of all faces
+ *   <li>MULTISOLID (x009): a GeometryCollection holding one such MultiPolygon per solid
+ *   <li>POLYGON and MULTIPOLYGON (x003, x007) using composite surfaces (1006): a MultiPolygon of
+ *       all faces
+ * </ul>
+ *
+ * <p>Faces keep the orientation they are stored with. The optimized box (1007 interpretation 3)
+ * is expanded into its six faces, oriented outwards.
+ *
+ * <p>Faces are SDOOrdinateSlice views over the ordinates array (or over one buffer for all faces
+ * of a box), nothing is copied per face. Factories producing CoordinateAccess sequences get a copy
+ * of each ring in their own type instead.
+ */
+final class SDOSolidDecoder {
+    /** Box corners of the six faces, bit 2 for max x, bit 1 for max y, bit 0 for max z */
+    private static final int[][] BOX_FACES = {
+        {0, 2, 6, 4}, // bottom
+        {1, 5, 7, 3}, // top
+        {0, 4, 5, 1}, // min y
+        {2, 3, 7, 6}, // max y
+        {0, 1, 3, 2}, // min x
+        {4, 6, 7, 5} // max x
+    };
+
+    private final GeometryFactory gf;
+
+    private final int SRID;
+
+    private final int[] elemInfo;
+
+    private final double[] ordinates;
+
+    /** Ordinates per coordinate */
+    private final int D;
+
+    private final boolean slices;
+
+    private SDOSolidDecoder(
+            GeometryFactory gf, int GTYPE, int SRID, int[] elemInfo, double[] ordinates) {
+        if (SDOUtils.D(GTYPE) != 3 || SDOUtils.L(GTYPE) != 0) {
+            throw new IllegalArgumentException(
+                    "SDO_GTYPE " + GTYPE + ": solids and surfaces must be 3 dimensional without LRS");
+        }
+        this.gf = gf;
+        this.SRID = SRID;
+        this.elemInfo = elemInfo != null ? elemInfo : new int[0];
+        this.ordinates = ordinates != null ? ordinates : new double[0];
+        this.D = 3;
+        this.slices = !(gf.getCoordinateSequenceFactory() instanceof CoordinateAccessFactory);
+    }
+
+    /**
+     * Checks if GTYPE and elemInfo describe a solid or a composite surface.
+     *
+     * @param GTYPE SDO_GTYPE
+     * @param elemInfo SDO_ELEM_INFO
+     * @param triplet first triplet of the geometry
+     */
+    static boolean isSolid(final int GTYPE, int[] elemInfo, int triplet) {
+        switch (SDOUtils.TT(GTYPE)) {
+            case SDOGeometryType.SOLID:
+            case SDOGeometryType.MULTISOLID:
+                return true;
+            case SDOGeometryType.POLYGON:
+            case SDOGeometryType.MULTIPOLYGON:
+                if (elemInfo == null) {
+                    return false;
+                }
+                for (int i = triplet * 3 + 1; i < elemInfo.length; i += 3) {
+                    if (elemInfo[i] == SDOGeometryEType.SURFACE_EXTERIOR) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Decodes a solid, multisolid or composite surface.
+     *
+     * @param gf Used to construct geometries
+     * @param GTYPE SDO_GTYPE, 3 dimensional
+     * @param SRID Spatial Reference System
+     * @param elemInfo SDO_ELEM_INFO
+     * @param triplet first triplet of the geometry
+     * @param ordinates SDO_ORDINATES, used without copying
+     */
+    static Geometry create(
+            GeometryFactory gf,
+            final int GTYPE,
+            final int SRID,
+            int[] elemInfo,
+            int triplet,
+            double[] ordinates) {
+        SDOSolidDecoder decoder = new SDOSolidDecoder(gf, GTYPE, SRID, elemInfo, ordinates);
+        Geometry geometry;
+        switch (SDOUtils.TT(GTYPE)) {
+            case SDOGeometryType.SOLID:
+                {
+                    List<Polygon> faces = new ArrayList<>();
+                    decoder.solid(triplet, faces);
+                    geometry = decoder.faces(faces);
+                    break;
+                }
+            case SDOGeometryType.MULTISOLID:
+                {
+                    List<Geometry> solids = new ArrayList<>();
+                    for (int i = triplet; decoder.ETYPE(i) != -1; ) {
+                        List<Polygon> faces = new ArrayList<>();
+                        i = decoder.solid(i, faces);
+                        solids.add(decoder.faces(faces));
+                    }
+                    geometry = gf.createGeometryCollection(solids.toArray(new Geometry[0]));
+                    break;
+                }
+            default:
+                {
+                    List<Polygon> faces = new ArrayList<>();
+                    for (int i = triplet; decoder.ETYPE(i) != -1; ) {
+                        i =
+                                decoder.ETYPE(i) == SDOGeometryEType.SURFACE_EXTERIOR
+                                        ? decoder.surface(i, faces)
+                                        : decoder.polygon(i, faces);
+                    }
+                    geometry = decoder.faces(faces);
+                }
+        }
+        geometry.setSRID(SRID);
+        return geometry;
+    }
+
+    /**
+     * Decodes CoordinateSequence based geometries, the coordinates are packed first.
+     *
+     * @see #create(GeometryFactory, int, int, int[], int, double[])
+     */
+    static Geometry create(
+            GeometryFactory gf,
+            final int GTYPE,
+            final int SRID,
+            int[] elemInfo,
+            int triplet,
+            CoordinateSequence coords) {
+        final int SIZE = coords.size();
+        double[] ordinates = new double[SIZE * 3];
+        for (int i = 0, offset = 0; i < SIZE; i++) {
+            ordinates[offset++] = coords.getX(i);
+            ordinates[offset++] = coords.getY(i);
+            ordinates[offset++] = coords.getZ(i);
+        }
+        return create(gf, GTYPE, SRID, elemInfo, triplet, ordinates);
+    }
+
+    /**
+     * Simple or composite solid starting at triplet.
+     *
+     * @return triplet following the solid
+     */
+    private int solid(int triplet, List<Polygon> faces) {
+        final int ETYPE = ETYPE(triplet);
+        final int INTERPRETATION = INTERPRETATION(triplet);
+        if (ETYPE == SDOGeometryEType.COMPOSITE_SOLID) {
+            int next = triplet + 1;
+            for (int i = 0; i < INTERPRETATION; i++) {
+                if (ETYPE(next) != SDOGeometryEType.SOLID) {
+                    throw new IllegalArgumentException(
+                            "SDOGeometryEType "
+                                    + ETYPE(next)
+                                    + " inconsistent with expected SOLID in composite solid");
+                }
+                next = solid(next, faces);
+            }
+            return next;
+        }
+        if (ETYPE != SDOGeometryEType.SOLID) {
+            throw new IllegalArgumentException(
+                    "SDOGeometryEType " + ETYPE + " inconsistent with expected SOLID");
+        }
+        if (INTERPRETATION == 3) {
+            box(triplet, faces);
+            return triplet + 1;
+        }
+        if (INTERPRETATION != 1) {
+            throw new IllegalArgumentException(
+                    "ELEM_INFO INTERPRETATION " + INTERPRETATION + " not supported for SOLID");
+        }
+        if (ETYPE(triplet + 1) != SDOGeometryEType.SURFACE_EXTERIOR) {
+            throw new IllegalArgumentException(
+                    "SDOGeometryEType "
+                            + ETYPE(triplet + 1)
+                            + " inconsistent with expected exterior surface of SOLID");
+        }
+        int next = surface(triplet + 1, faces);
+        while (ETYPE(next) == SDOGeometryEType.SURFACE_INTERIOR) {
+            next = surface(next, faces);
+        }
+        return next;
+    }
+
+    /**
+     * Composite surface starting at triplet, INTERPRETATION polygons.
+     *
+     * @return triplet following the surface
+     */
+    private int surface(int triplet, List<Polygon> faces) {
+        final int N = INTERPRETATION(triplet);
+        int next = triplet + 1;
+        for (int i = 0; i < N; i++) {
+            next = polygon(next, faces);
+        }
+        return next;
+    }
+
+    /**
+     * Polygon with straight edges starting at triplet, followed by its interior rings.
+     *
+     * @return triplet following the polygon
+     */
+    private int polygon(int triplet, List<Polygon> faces) {
+        final int ETYPE = ETYPE(triplet);
+        final int INTERPRETATION = INTERPRETATION(triplet);
+        if (ETYPE != SDOGeometryEType.POLYGON_EXTERIOR && ETYPE != SDOGeometryEType.POLYGON) {
+            throw new IllegalArgumentException(
+                    "SDOGeometryEType " + ETYPE + " inconsistent with expected POLYGON_EXTERIOR");
+        }
+        if (INTERPRETATION != 1) {
+            throw new IllegalArgumentException(
+                    "ELEM_INFO INTERPRETATION "
+                            + INTERPRETATION
+                            + " not supported for 3D polygons, only 1 (straight edges)");
+        }
+        LinearRing shell = ring(triplet);
+        int next = triplet + 1;
+        List<LinearRing> holes = null;
+        while (ETYPE(next) == SDOGeometryEType.POLYGON_INTERIOR) {
+            if (INTERPRETATION(next) != 1) {
+                throw new IllegalArgumentException(
+                        "ELEM_INFO INTERPRETATION "
+                                + INTERPRETATION(next)
+                                + " not supported for 3D polygons, only 1 (straight edges)");
+            }
+            if (holes == null) {
+                holes = new ArrayList<>(4);
+            }
+            holes.add(ring(next));
+            next++;
+        }
+        Polygon polygon =
+                gf.createPolygon(
+                        shell, holes == null ? null : holes.toArray(new LinearRing[holes.size()]));
+        polygon.setSRID(SRID);
+        faces.add(polygon);
+        return next;
+    }
+
+    /** Ring of triplet, up to the offset of the next triplet. */
+    private LinearRing ring(int triplet) {
+        final int START = STARTING_OFFSET(triplet) - 1;
+        final int NEXT = STARTING_OFFSET(triplet + 1);
+        final int END = NEXT == -1 ? ordinates.length : NEXT - 1;
+        if (START < 0 || START % D != 0 || END > ordinates.length || END < START) {
+            throw new IllegalArgumentException(
+                    "ELEM_INFO STARTING_OFFSET "
+                            + (START + 1)
+                            + " inconsistent with ORDINATES length "
+                            + ordinates.length);
+        }
+        final int SIZE = (END - START) / D;
+        CoordinateSequence cs;
+        if (SIZE > 0 && !closed(ordinates, START, END - D)) {
+            // close the ring on a copy
+            double[] closed = Arrays.copyOfRange(ordinates, START, END + D);
+            System.arraycopy(ordinates, START, closed, END - START, D);
+            cs = sequence(closed, 0, SIZE + 1);
+        } else {
+            cs = sequence(ordinates, START, SIZE);
+        }
+        LinearRing ring = gf.createLinearRing(cs);
+        ring.setSRID(SRID);
+        return ring;
+    }
+
+    /** Six faces of an axis aligned box, oriented outwards, in one buffer. */
+    private void box(int triplet, List<Polygon> faces) {
+        final int START = STARTING_OFFSET(triplet) - 1;
+        if (START < 0 || START + 2 * D > ordinates.length) {
+            throw new IllegalArgumentException(
+                    "ELEM_INFO STARTING_OFFSET "
+                            + (START + 1)
+                            + " inconsistent with ORDINATES length "
+                            + ordinates.length);
+        }
+        final double[] MIN = {ordinates[START], ordinates[START + 1], ordinates[START + 2]};
+        final double[] MAX = {ordinates[START + 3], ordinates[START + 4], ordinates[START + 5]};
+        double[] buffer = new double[BOX_FACES.length * 5 * D];
+        int offset = 0;
+        for (int[] face : BOX_FACES) {
+            for (int i = 0; i <= 4; i++) {
+                final int CORNER = face[i % 4];
+                buffer[offset++] = (CORNER & 4) != 0 ? MAX[0] : MIN[0];
+                buffer[offset++] = (CORNER & 2) != 0 ? MAX[1] : MIN[1];
+                buffer[offset++] = (CORNER & 1) != 0 ? MAX[2] : MIN[2];
+            }
+        }
+        for (int i = 0; i < BOX_FACES.length; i++) {
+            LinearRing ring = gf.createLinearRing(sequence(buffer, i * 5 * D, 5));
+            ring.setSRID(SRID);
+            Polygon polygon = gf.createPolygon(ring);
+            polygon.setSRID(SRID);
+            faces.add(polygon);
+        }
+    }
+
+    private CoordinateSequence sequence(double[] buffer, int offset, int size) {
+        if (slices) {
+            return new SDOOrdinateSlice(buffer, offset, size, D, 0);
+        }
+        CoordinateSequenceFactory csFactory = gf.getCoordinateSequenceFactory();
+        double[] packed = Arrays.copyOfRange(buffer, offset, offset + size * D);
+        return SDOCoordinates.create(csFactory, packed, size, D, 0);
+    }
+
+    private MultiPolygon faces(List<Polygon> faces) {
+        MultiPolygon polygons = gf.createMultiPolygon(faces.toArray(new Polygon[faces.size()]));
+        polygons.setSRID(SRID);
+        return polygons;
+    }
+
+    private boolean closed(double[] ordinates, int first, int last) {
+        for (int i = 0; i < D; i++) {
+            if (Double.compare(ordinates[first + i], ordinates[last + i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int STARTING_OFFSET(int triplet) {
+        return triplet * 3 < elemInfo.length ? elemInfo[triplet * 3] : -1;
+    }
+
+    private int ETYPE(int triplet) {
+        return triplet * 3 + 1 < elemInfo.length ? elemInfo[triplet * 3 + 1] : -1;
+    }
+
+    private int INTERPRETATION(int triplet) {
+        return triplet * 3 + 2 < elemInfo.length ? elemInfo[triplet * 3 + 2] : -1;
+    }
+}
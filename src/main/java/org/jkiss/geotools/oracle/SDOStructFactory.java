@@ -0,0 +1,46 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.sql.Struct;
+
+/**
+ * Creates the SQL objects making up an SDO_GEOMETRY.
+ *
+ * <p>Allows SDOGeometryConverter to encode geometries without depending on a vendor driver, see
+ * SDOConnectionStructFactory for the JDBC implementation.
+ */
+public interface SDOStructFactory {
+    /**
+     * Create a STRUCT of the named object type.
+     *
+     * @param typeName SQL type name, ie <code>MDSYS.SDO_GEOMETRY</code>
+     * @param attributes attribute values in declaration order, <code>null</code> for NULL
+     */
+    Struct createStruct(String typeName, Object[] attributes) throws SQLException;
+
+    /**
+     * Create an ARRAY of the named collection type.
+     *
+     * @param typeName SQL type name, ie <code>MDSYS.SDO_ORDINATE_ARRAY</code>
+     * @param elements a <code>double[]</code>, <code>int[]</code> or <code>Object[]</code> (with
+     *     <code>null</code> elements for NULL)
+     */
+    Array createArray(String typeName, Object elements) throws SQLException;
+}
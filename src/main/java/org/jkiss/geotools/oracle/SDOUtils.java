@@ -19,8 +19,8 @@
  */
 package org.jkiss.geotools.oracle;
 
-import org.locationtech.jts.algorithm.Orientation;
 import org.locationtech.jts.geom.*;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
 
 import java.lang.reflect.Array;
 import java.text.MessageFormat;
@@ -115,7 +115,7 @@ public final class SDOUtils {
         CoordinateSequenceFactory f = geom.getFactory().getCoordinateSequenceFactory();
 
         if (f instanceof CoordinateAccessFactory) {
-            return ((CoordinateAccessFactory) f).getDimension();
+            return ((CoordinateAccessFactory) f).getNumAttributes();
         } else {
             return 0;
         }
@@ -235,202 +235,7 @@ public final class SDOUtils {
     }
 
     public static int[] elemInfo(Geometry geom, final int GTYPE) {
-        List list = new LinkedList();
-        elemInfo(list, geom, 1, GTYPE);
-
-        return intArray(list);
-    }
-
-    /**
-     * Add to SDO_ELEM_INFO list for geometry and GTYPE.
-     *
-     * @param elemInfoList List used to gather SDO_ELEM_INFO
-     * @param geom Geometry to encode
-     * @param STARTING_OFFSET Starting offset in SDO_ORDINATES
-     * @param GTYPE Encoding of dimension, measures and geometry type
-     * @throws IllegalArgumentException If geom cannot be encoded by ElemInfo
-     */
-    private static void elemInfo(
-            List elemInfoList, Geometry geom, final int STARTING_OFFSET, final int GTYPE) {
-        final int tt = TT(geom);
-
-        switch (tt) {
-            case SDOGeometryType.POINT:
-                addElemInfo(elemInfoList, (Point) geom, STARTING_OFFSET);
-
-                return;
-
-            case SDOGeometryType.LINE:
-                addElemInfo(elemInfoList, (LineString) geom, STARTING_OFFSET);
-
-                return;
-
-            case SDOGeometryType.POLYGON:
-                addElemInfo(elemInfoList, (Polygon) geom, STARTING_OFFSET, GTYPE);
-
-                return;
-
-            case SDOGeometryType.MULTIPOINT:
-                addElemInfo(elemInfoList, (MultiPoint) geom, STARTING_OFFSET);
-
-                return;
-
-            case SDOGeometryType.MULTILINE:
-                addElemInfo(elemInfoList, (MultiLineString) geom, STARTING_OFFSET, GTYPE);
-
-                return;
-
-            case SDOGeometryType.MULTIPOLYGON:
-                addElemInfo(elemInfoList, (MultiPolygon) geom, STARTING_OFFSET, GTYPE);
-
-                return;
-
-            case SDOGeometryType.COLLECTION:
-                addElemInfo(elemInfoList, (GeometryCollection) geom, STARTING_OFFSET, GTYPE);
-
-                return;
-        }
-
-        throw new IllegalArgumentException(
-                "Cannot encode JTS "
-                        + geom.getGeometryType()
-                        + " as SDO_ELEM_INFO "
-                        + "(Limitied to Point, Line, Polygon, GeometryCollection, MultiPoint,"
-                        + " MultiLineString and MultiPolygon)");
-    }
-
-    /**
-     * Not often called as POINT_TYPE prefered over ELEMINFO & ORDINATES.
-     *
-     * <p>This method is included to allow for multigeometry encoding.
-     *
-     * @param elemInfoList List containing ELEM_INFO array
-     * @param point Point to encode
-     * @param STARTING_OFFSET Starting offset in SDO_ORDINATE array
-     */
-    private static void addElemInfo(List elemInfoList, Point point, final int STARTING_OFFSET) {
-        addInt(elemInfoList, STARTING_OFFSET);
-        addInt(elemInfoList, SDOGeometryEType.POINT);
-        addInt(elemInfoList, 1); // INTERPRETATION single point
-    }
-
-    private static void addElemInfo(List elemInfoList, LineString line, final int STARTING_OFFSET) {
-        addInt(elemInfoList, STARTING_OFFSET);
-        addInt(elemInfoList, SDOGeometryEType.LINE);
-        addInt(elemInfoList, 1); // INTERPRETATION straight edges
-    }
-
-    private static void addElemInfo(
-            List elemInfoList, Polygon polygon, final int STARTING_OFFSET, final int GTYPE) {
-        final int HOLES = polygon.getNumInteriorRing();
-
-        if (HOLES == 0) {
-            addInt(elemInfoList, STARTING_OFFSET);
-            addInt(elemInfoList, elemInfoEType(polygon));
-            addInt(elemInfoList, elemInfoInterpretation(polygon, SDOGeometryEType.POLYGON_EXTERIOR));
-
-            return;
-        }
-
-        int LEN = D(GTYPE) + L(GTYPE);
-        int offset = STARTING_OFFSET;
-        LineString ring;
-
-        ring = polygon.getExteriorRing();
-        addInt(elemInfoList, offset);
-        addInt(elemInfoList, elemInfoEType(polygon));
-        addInt(elemInfoList, elemInfoInterpretation(polygon, SDOGeometryEType.POLYGON_EXTERIOR));
-        offset += (ring.getNumPoints() * LEN);
-
-        for (int i = 1; i <= HOLES; i++) {
-            ring = polygon.getInteriorRingN(i - 1);
-            addInt(elemInfoList, offset);
-            addInt(elemInfoList, SDOGeometryEType.POLYGON_INTERIOR);
-            addInt(elemInfoList, elemInfoInterpretation(ring, SDOGeometryEType.POLYGON_INTERIOR));
-            offset += (ring.getNumPoints() * LEN);
-        }
-    }
-
-    private static void addElemInfo(
-            List elemInfoList, MultiPoint points, final int STARTING_OFFSET) {
-        addInt(elemInfoList, STARTING_OFFSET);
-        addInt(elemInfoList, SDOGeometryEType.POINT);
-        addInt(elemInfoList, elemInfoInterpretation(points, SDOGeometryEType.POINT));
-    }
-
-    private static void addElemInfo(
-            List elemInfoList, MultiLineString lines, final int STARTING_OFFSET, final int GTYPE) {
-        LineString line;
-        int offset = STARTING_OFFSET;
-
-        int LEN = D(GTYPE) + L(GTYPE);
-
-        for (int i = 0; i < lines.getNumGeometries(); i++) {
-            line = (LineString) lines.getGeometryN(i);
-            addElemInfo(elemInfoList, line, offset);
-            offset += (line.getNumPoints() * LEN);
-        }
-    }
-
-    private static void addElemInfo(
-            List elemInfoList, MultiPolygon polys, final int STARTING_OFFSET, final int GTYPE) {
-        Polygon poly;
-        int offset = STARTING_OFFSET;
-
-        int LEN = D(GTYPE) + L(GTYPE);
-
-        for (int i = 0; i < polys.getNumGeometries(); i++) {
-            poly = (Polygon) polys.getGeometryN(i);
-            if (poly != null && !poly.isEmpty()) {
-                addElemInfo(elemInfoList, poly, offset, GTYPE);
-                if (isRectangle(poly)) {
-                    offset += (2 * LEN);
-                } else {
-                    offset += (poly.getNumPoints() * LEN);
-                }
-            }
-        }
-    }
-
-    private static void addElemInfo(
-            List elemInfoList,
-            GeometryCollection geoms,
-            final int STARTING_OFFSET,
-            final int GTYPE) {
-        Geometry geom;
-        int offset = STARTING_OFFSET;
-        int LEN = D(GTYPE) + L(GTYPE);
-
-        for (int i = 0; i < geoms.getNumGeometries(); i++) {
-            geom = geoms.getGeometryN(i);
-            elemInfo(elemInfoList, geom, offset, GTYPE);
-            if (geom instanceof Polygon && isRectangle((Polygon) geom)) {
-                offset += (2 * LEN);
-            } else {
-                offset += (geom.getNumPoints() * LEN);
-            }
-        }
-    }
-
-    private static void addInt(List list, int i) {
-        list.add(Integer.valueOf(i));
-    }
-
-    /**
-     * Converts provied list to an int array
-     *
-     * @param list List to cast to an array type
-     * @return array of ints
-     */
-    private static int[] intArray(List list) {
-        int[] array = new int[list.size()];
-        int offset = 0;
-
-        for (Iterator i = list.iterator(); i.hasNext(); offset++) {
-            array[offset] = ((Number) i.next()).intValue();
-        }
-
-        return array;
+        return new SDOEncoder().elemInfo(geom, D(GTYPE) + L(GTYPE));
     }
 
     /**
@@ -655,74 +460,22 @@ public final class SDOUtils {
      * @param geom
      */
     public static double[] ordinates(Geometry geom) {
-        List<?> list = new ArrayList<>();
-
-        coordinates(list, geom);
-
-        return ordinates(list, geom);
-    }
-
-    public static CoordinateSequence getCS(Geometry geom) {
-        CoordinateSequence cs = null;
-        switch (TT(geom)) {
-            case SDOGeometryType.UNKNOWN:
-                break; // extend with your own custom types
-
-            case SDOGeometryType.POINT:
-                // addCoordinates(list, (Point) geom);
-
-                return cs;
-
-            case SDOGeometryType.LINE:
-                cs = getLineStringCS((LineString) geom);
-
-                return cs;
-
-            case SDOGeometryType.POLYGON:
-                // addCoordinates(list, (Polygon) geom);
-
-                return cs;
-
-            case SDOGeometryType.COLLECTION:
-                // addCoordinates(list, (GeometryCollection) geom);
-
-                return cs;
-
-            case SDOGeometryType.MULTIPOINT:
-                // addCoordinates(list, (MultiPoint) geom);
-
-                return cs;
-
-            case SDOGeometryType.MULTILINE:
-                // addCoordinates(list, (MultiLineString) geom);
-
-                return cs;
-
-            case SDOGeometryType.MULTIPOLYGON:
-                // addCoordinates(list, (MultiPolygon) geom);
-
-                return cs;
-        }
-
-        throw new IllegalArgumentException(
-                "Cannot encode JTS "
-                        + geom.getGeometryType()
-                        + " as "
-                        + "SDO_ORDINATRES (Limitied to Point, Line, Polygon, "
-                        + "GeometryCollection, MultiPoint, MultiLineString and MultiPolygon)");
+        return new SDOEncoder().ordinates(geom);
     }
 
     /**
-     * getLineStringCS purpose.
+     * Single sequence over the coordinates of geom, in the order ordinates(geom) produces them.
      *
-     * <p>Description ...
+     * <p>The sequence is a view backed by the part sequences of geom, nothing is copied: rings
+     * written in reverse orientation are read backwards and empty parts are skipped. Coordinate i
+     * holds ordinates <code>i * (D + L)</code> onwards of ordinates(geom).
      *
+     * @param geom Geometry
+     * @return SDOConcatenatedSequence of <code>D + L</code> dimension, L measures
+     * @throws IllegalArgumentException If geometry cannot be encoded
      */
-    private static CoordinateSequence getLineStringCS(LineString ls) {
-        if (ls.getCoordinateSequence() instanceof CoordinateAccess) {
-            CoordinateAccess ca = (CoordinateAccess) ls.getCoordinateSequence();
-            return ca;
-        } else return null;
+    public static CoordinateSequence getCS(Geometry geom) {
+        return new SDOEncoder().sequence(geom);
     }
 
     /**
@@ -1313,7 +1066,7 @@ public final class SDOUtils {
      */
     public static CoordinateSequence counterClockWise(
             CoordinateSequenceFactory factory, CoordinateSequence ring) {
-        if (Orientation.isCCW(ring.toCoordinateArray())) {
+        if (SDOCoordinates.isCCW(ring)) {
             return ring;
         }
 
@@ -1329,9 +1082,9 @@ public final class SDOUtils {
      * @param ring Ring of SDOCoordinates
      * @return coords in a CW order
      */
-    private static CoordinateSequence clockWise(
+    public static CoordinateSequence clockWise(
             CoordinateSequenceFactory factory, CoordinateSequence ring) {
-        if (!Orientation.isCCW(ring.toCoordinateArray())) {
+        if (!SDOCoordinates.isCCW(ring)) {
             return ring;
         }
         return SDOCoordinates.reverse(factory, ring);
@@ -1461,34 +1214,20 @@ public final class SDOUtils {
      *
      * @param factory Factory used for JTS
      * @param coords SDOCoordinates
-     * @param GTYPE Encoding of <b>D</b>imension, <b>L</b>RS and <b>SDOGeometryType</b>ype
-     * @param elemInfo
+     * @param info decoded elemInfo
      * @param triplet
      */
     private static CoordinateSequence subList(
             CoordinateSequenceFactory factory,
             CoordinateSequence coords,
-            int GTYPE,
-            int[] elemInfo,
+            SDOElemInfo info,
             int triplet,
             boolean compoundElement) {
+        final int END = info.end(triplet);
+        // compound sub-elements share their last point with the following one
+        final boolean SHARED = compoundElement && triplet + 1 < info.size;
 
-        final int STARTING_OFFSET = STARTING_OFFSET(elemInfo, triplet);
-        int ENDING_OFFSET = STARTING_OFFSET(elemInfo, triplet + 1); // -1 for end
-        final int LEN = D(GTYPE);
-        if (ENDING_OFFSET != -1 && compoundElement) {
-            ENDING_OFFSET += LEN;
-        }
-
-        if ((STARTING_OFFSET == 1) && (ENDING_OFFSET == -1)) {
-            // Use all Cordiantes
-            return coords;
-        }
-
-        int start = (STARTING_OFFSET - 1) / LEN;
-        int end = (ENDING_OFFSET != -1) ? ((ENDING_OFFSET - 1) / LEN) : coords.size();
-
-        return subList(factory, coords, start, end);
+        return subList(factory, coords, info.start(triplet), SHARED ? END + 1 : END);
     }
 
     /**
@@ -1513,6 +1252,145 @@ public final class SDOUtils {
         return SDOCoordinates.subList(factory, coords, start, end);
     }
 
+    /**
+     * Linearizes the arc string held by coords.
+     *
+     * @param factory Manages CoordinateSequences for JTS
+     * @param coords arc string, start, any and end point of each arc
+     * @param arcs Used to linearize arcs
+     * @return CoordinateSequence of straight segments
+     */
+    private static CoordinateSequence arcString(
+            CoordinateSequenceFactory factory, CoordinateSequence coords, SDOCircularArcs arcs) {
+        final int DIM = SDOCoordinates.ordinateCount(coords);
+        final int SIZE = arcs.arcStringSize(coords, 0, coords.size());
+        double[] packed = new double[SIZE * DIM];
+        arcs.arcString(coords, 0, coords.size(), packed, 0, DIM, true);
+
+        return SDOCoordinates.create(
+                factory, packed, SIZE, DIM, SDOCoordinates.measureCount(coords));
+    }
+
+    /**
+     * Linearizes the circle through the three points held by coords.
+     *
+     * @param factory Manages CoordinateSequences for JTS
+     * @param coords three distinct points on the circle
+     * @param clockwise <code>true</code> for an interior ring
+     * @param arcs Used to linearize the circle
+     * @return closed CoordinateSequence
+     */
+    private static CoordinateSequence circle(
+            CoordinateSequenceFactory factory,
+            CoordinateSequence coords,
+            boolean clockwise,
+            SDOCircularArcs arcs) {
+        final int DIM = SDOCoordinates.ordinateCount(coords);
+        final int SIZE = arcs.circleSize(coords, 0);
+        double[] packed = new double[SIZE * DIM];
+        arcs.circle(coords, 0, clockwise, packed, 0, DIM);
+
+        return SDOCoordinates.create(
+                factory, packed, SIZE, DIM, SDOCoordinates.measureCount(coords));
+    }
+
+    /**
+     * ELEM_INFO triplets from triplet onwards, with their starting offsets moved back by offset.
+     *
+     * <p>Used to decode the ordinates following a leading complex (ETYPE 0) element in place.
+     */
+    private static int[] shift(int[] elemInfo, int triplet, int offset) {
+        final int START = triplet * 3;
+        int[] shifted = new int[elemInfo.length - START];
+        for (int i = 0; i < shifted.length; i++) {
+            shifted[i] = elemInfo[START + i];
+        }
+        for (int i = 0; i < shifted.length; i += 3) {
+            shifted[i] -= offset;
+        }
+        return shifted;
+    }
+
+    /**
+     * Concatenates the sub-elements of a compound line or ring into a single sequence.
+     *
+     * <p>Each sub-element (ETYPE 2, INTERPRETATION 1 or 2) shares its first point with the last
+     * point of the previous one. Arcs are linearized and all vertices are written into one buffer
+     * sized in a first pass.
+     *
+     * @param factory Manages CoordinateSequences for JTS
+     * @param coords SDOCoordinates
+     * @param info decoded elemInfo
+     * @param triplet triplet of the compound element, its INTERPRETATION is the number of
+     *     sub-elements
+     * @param arcs Used to linearize arcs
+     * @return CoordinateSequence of straight segments
+     */
+    private static CoordinateSequence compound(
+            CoordinateSequenceFactory factory,
+            CoordinateSequence coords,
+            final SDOElemInfo info,
+            final int triplet,
+            SDOCircularArcs arcs) {
+        final int N = info.interpretation(triplet);
+        if (N < 1 || info.etype(triplet + N) == -1) {
+            throw new IllegalArgumentException(
+                    "ELEM_INFO compound element requires "
+                            + N
+                            + " sub-element triplets, elemInfo holds "
+                            + (info.size - triplet - 1));
+        }
+        final int END = info.end(triplet + N);
+        // first pass: size and validate the sub-elements
+        int size = 1;
+        for (int i = triplet + 1; i <= triplet + N; i++) {
+            final int ETYPE = info.etype(i);
+            final int INTERPRETATION = info.interpretation(i);
+            final int start = info.start(i);
+            final int end = (i < triplet + N) ? info.end(i) + 1 : END;
+            if (ETYPE != SDOGeometryEType.LINE || start < 0 || end > coords.size() || end - start < 2) {
+                throw new IllegalArgumentException(
+                        "ELEM_INFO compound sub-element "
+                                + (i - triplet)
+                                + " must be a LINE (ETYPE 2) with at least 2 points, not ETYPE "
+                                + ETYPE
+                                + " over "
+                                + (end - start)
+                                + " points");
+            }
+            if (INTERPRETATION == 1) {
+                size += end - start - 1;
+            } else if (INTERPRETATION == 2) {
+                size += arcs.arcStringSize(coords, start, end) - 1;
+            } else {
+                throw new IllegalArgumentException(
+                        "ELEM_INFO compound sub-element INTERPRETATION "
+                                + INTERPRETATION
+                                + " not supported, expected 1 (straight) or 2 (arcs)");
+            }
+        }
+        // second pass: write the vertices, skipping the point shared with the previous element
+        final int DIM = SDOCoordinates.ordinateCount(coords);
+        double[] packed = new double[size * DIM];
+        int point = 0;
+        for (int i = triplet + 1; i <= triplet + N; i++) {
+            final int start = info.start(i);
+            final int end = (i < triplet + N) ? info.end(i) + 1 : END;
+            final boolean first = i == triplet + 1;
+            if (info.interpretation(i) == 2) {
+                point = arcs.arcString(coords, start, end, packed, point, DIM, first);
+            } else {
+                for (int p = first ? start : start + 1; p < end; p++) {
+                    for (int j = 0; j < DIM; j++) {
+                        packed[point * DIM + j] = coords.getOrdinate(p, j);
+                    }
+                    point++;
+                }
+            }
+        }
+        return SDOCoordinates.create(factory, packed, size, DIM, SDOCoordinates.measureCount(coords));
+    }
+
     private static LinearRing[] toInteriorRingArray(List list) {
         return (LinearRing[]) toArray(list, LinearRing.class);
 
@@ -1585,12 +1463,12 @@ public final class SDOUtils {
 
     /** Access L (for LRS) as encoded in GTYPE */
     public static int L(final int GTYPE) {
-        return (GTYPE - (D(GTYPE) * 1000)) / 100;
+        return (GTYPE / 100) % 10;
     }
 
     /** Access SDOGeometryType (for geometry type) as encoded in GTYPE */
     public static int TT(final int GTYPE) {
-        return GTYPE - (D(GTYPE) * 1000) - (L(GTYPE) * 100);
+        return GTYPE % 100;
     }
 
     /**
@@ -1667,33 +1545,6 @@ public final class SDOUtils {
         String msg = MessageFormat.format(condition, new Object[] {Integer.valueOf(actual), array});
         throw new IllegalArgumentException(msg);
     }
-    /**
-     * Returns the "length" of the ordinate array used for the CoordinateSequence, GTYPE is used to
-     * determine the dimension.
-     *
-     * <p>This is most often used to check the STARTING_OFFSET value to ensure that is falls within
-     * allowable bounds.
-     *
-     * <p>Example:
-     *
-     * <pre><code>
-     * if (!(STARTING_OFFSET >= 1) ||
-     *     !(STARTING_OFFSET <= ordinateSize( coords, GTYPE ))){
-     *     throw new IllegalArgumentException(
-     *         "ELEM_INFO STARTING_OFFSET "+STARTING_OFFSET+
-     *         "inconsistent with COORDINATES length "+size( coords, GTYPE ) );
-     * }
-     * </code></pre>
-     *
-     * @param coords
-     * @param GTYPE
-     */
-    private static int ordinateSize(CoordinateSequence coords, int GTYPE) {
-        if (coords == null) {
-            return 0;
-        }
-        return coords.size() * D(GTYPE);
-    }
     /**
      * SDOGeometryEType access for the elemInfo triplet indicated.
      *
@@ -1762,7 +1613,25 @@ public final class SDOUtils {
      */
     public static CoordinateSequence coordinates(
             CoordinateSequenceFactory f, final int GTYPE, double[] ordinates) {
-        if ((ordinates == null) || (ordinates.length == 0)) {
+        return coordinates(f, GTYPE, ordinates, 0);
+    }
+
+    /**
+     * Construct CoordinateList as described by GTYPE, reading ordinates from offset.
+     *
+     * <p>The ordinates before offset are skipped without copying the array, offset must be a
+     * multiple of the dimension.
+     *
+     * @param f CoordinateSequenceFactory used to encode ordiantes for JTS
+     * @param GTYPE Encoding of <b>D</b>imension, <b>L</b>RS and <b>SDOGeometryType</b>ype
+     * @param ordinates
+     * @param offset index of the first ordinate to read
+     * @return protected
+     * @throws IllegalArgumentException
+     */
+    public static CoordinateSequence coordinates(
+            CoordinateSequenceFactory f, final int GTYPE, double[] ordinates, final int offset) {
+        if ((ordinates == null) || (ordinates.length <= offset)) {
             return f.create(new Coordinate[0]);
         }
 
@@ -1774,7 +1643,7 @@ public final class SDOUtils {
         //
         if ((D == 2) && (L == 0) && (TT == 1)) {
             CoordinateSequence cs = SDOCoordinates.createCS(f, 1, 2);
-            for (int i = 0; i < 2; i++) cs.setOrdinate(0, i, ordinates[i]);
+            for (int i = 0; i < 2; i++) cs.setOrdinate(0, i, ordinates[offset + i]);
             return cs;
         }
 
@@ -1782,7 +1651,7 @@ public final class SDOUtils {
                 D; // bugfix 20121231-BK: LEN = D instead of LEN = D + L as Oracle supports only one
         // LRS ordinate!
 
-        if ((ordinates.length % LEN) != 0) {
+        if ((ordinates.length % LEN) != 0 || (offset % LEN) != 0) {
             // bugfix 20121231-BK: LEN is D instead of D + L
             throw new IllegalArgumentException(
                     "Dimension D:"
@@ -1792,7 +1661,9 @@ public final class SDOUtils {
                             + LEN
                             + " ordinates. This cannot be resolved with"
                             + "an ordinate array of length "
-                            + ordinates.length);
+                            + ordinates.length
+                            + " read from offset "
+                            + offset);
         }
 
         // bugfix 20121231-BK: throw exception if L > D (4 lines added)
@@ -1812,21 +1683,22 @@ public final class SDOUtils {
         }
 */
 
-        SDOOrdinateList x = new SDOOrdinateList(ordinates, 0, LEN);
-        SDOOrdinateList y = new SDOOrdinateList(ordinates, 1, LEN);
+        SDOOrdinateList x = new SDOOrdinateList(ordinates, 0, LEN, offset, ordinates.length);
+        SDOOrdinateList y = new SDOOrdinateList(ordinates, 1, LEN, offset, ordinates.length);
         SDOOrdinateList z = null;
 
         // bugfix 20121231-BK: add z-Coordinate just if D >= 3 and L != 3
         if (D >= 3 && L != 3) {
-            z = new SDOOrdinateList(ordinates, 2, LEN);
+            z = new SDOOrdinateList(ordinates, 2, LEN, offset, ordinates.length);
+        } else if (D == 4 && L == 3) {
+            // (x,y,m,z) the measure is stored before z
+            z = new SDOOrdinateList(ordinates, 3, LEN, offset, ordinates.length);
         }
 
         if (L != 0) {
             // bugfix 20121231-BK: Oracle supports only one LRS ordinate! (removed 6 lines, added 2)
-            SDOOrdinateList m = new SDOOrdinateList(ordinates, L - 1, LEN);
+            SDOOrdinateList m = new SDOOrdinateList(ordinates, L - 1, LEN, offset, ordinates.length);
 
-            // TODO org.geotools.geometry.jts.CoordinateSequenceFactory does not support 4
-            // dimensions - thus we will get only 3 dimensions!
             return coordiantes(f, x, y, z, m);
         } else {
             return coordiantes(f, x, y, z);
@@ -1884,10 +1756,13 @@ public final class SDOUtils {
     }
 
     /**
-     * bugfix 20121231-BK: added: TODO org.geotools.geometry.jts.CoordinateSequenceFactory does not
-     * support 4 dimensions! Construct CoordinateSequence with LRS measures.
+     * Construct CoordinateSequence with LRS measures.
      *
-     * <p>To produce three dimension SDOCoordinates pass in <code>null</code> for z
+     * <p>The measure is kept as the JTS M ordinate, producing XYM sequences when <code>z</code> is
+     * <code>null</code> and XYZM sequences otherwise. Ordinates are written in a single pass, a
+     * PackedCoordinateSequenceFactory receives the packed ordinate array directly.
+     *
+     * <p>CoordinateAccessFactory sequences receive the measure as their only attribute column.
      *
      * @param f {@link CoordinateSequenceFactory}
      * @param x x-ordinates
@@ -1903,23 +1778,53 @@ public final class SDOUtils {
             SDOOrdinateList z,
             SDOOrdinateList m) {
         final int LENGTH = x.size();
-        // TODO org.geotools.geometry.jts.LiteCoordinateSequenceFactory does not support 4
-        // dimensions!
-        // CoordinateSequence cs = f.create(LENGTH, z == null ? 3: 4);
-        CoordinateSequence cs = SDOCoordinates.createCS(f, LENGTH, z == null ? 2 : 3);
+        final int DIMENSION = z == null ? 3 : 4;
+
+        if (f instanceof CoordinateAccessFactory) {
+            double[][] xyz = new double[DIMENSION - 1][];
+            xyz[0] = x.toDoubleArray();
+            xyz[1] = y.toDoubleArray();
+            if (z != null) {
+                xyz[2] = z.toDoubleArray();
+            }
+            return ((CoordinateAccessFactory) f).create(xyz, new Object[] {m.toDoubleArray()});
+        }
+
+        if (SDOCoordinates.isPackedDouble(f)) {
+            double[] packed = new double[LENGTH * DIMENSION];
+            int offset = 0;
+
+            if (z != null) {
+                for (int i = 0; i < LENGTH; i++) {
+                    packed[offset++] = x.getDouble(i);
+                    packed[offset++] = y.getDouble(i);
+                    packed[offset++] = z.getDouble(i);
+                    packed[offset++] = m.getDouble(i);
+                }
+            } else {
+                for (int i = 0; i < LENGTH; i++) {
+                    packed[offset++] = x.getDouble(i);
+                    packed[offset++] = y.getDouble(i);
+                    packed[offset++] = m.getDouble(i);
+                }
+            }
+            return ((PackedCoordinateSequenceFactory) f).create(packed, DIMENSION, 1);
+        }
+
+        CoordinateSequence cs = SDOCoordinates.createCS(f, LENGTH, DIMENSION, 1);
 
         if (z != null) {
             for (int i = 0; i < LENGTH; i++) {
                 cs.setOrdinate(i, 0, x.getDouble(i));
                 cs.setOrdinate(i, 1, y.getDouble(i));
                 cs.setOrdinate(i, 2, z.getDouble(i));
-                // cs.setOrdinate(i, 3, m.getDouble(i));
+                cs.setOrdinate(i, 3, m.getDouble(i));
             }
         } else {
             for (int i = 0; i < LENGTH; i++) {
                 cs.setOrdinate(i, 0, x.getDouble(i));
                 cs.setOrdinate(i, 1, y.getDouble(i));
-                // cs.setOrdinate(i, 2, m.getDouble(i));
+                cs.setOrdinate(i, 2, m.getDouble(i));
             }
         }
 
@@ -1947,7 +1852,7 @@ public final class SDOUtils {
         final int D = (z != null) ? 3 : 2;
         final int L = (m != null) ? m.length : 0;
 
-        if (f instanceof CoordinateAccess && (L != 0)) {
+        if (f instanceof CoordinateAccessFactory && (L != 0)) {
             CoordinateAccessFactory factory = (CoordinateAccessFactory) f;
             double[][] xyz = new double[D][];
             double[][] measures = new double[L][];
@@ -1990,7 +1895,7 @@ public final class SDOUtils {
         final int D = (z != null) ? 3 : 2;
         final int L = (m != null) ? m.length : 0;
 
-        if (f instanceof CoordinateAccess && (L != 0)) {
+        if (f instanceof CoordinateAccessFactory && (L != 0)) {
             CoordinateAccessFactory factory = (CoordinateAccessFactory) f;
             double[][] xyz = new double[D][];
             Object[] measures = new Object[L];
@@ -2003,7 +1908,7 @@ public final class SDOUtils {
             }
 
             for (int i = 0; i < L; i++) {
-                measures[i] = m[i].toObjectArray();
+                measures[i] = m[i].toAttributeArray();
             }
 
             return factory.create(xyz, measures);
@@ -2012,6 +1917,105 @@ public final class SDOUtils {
         }
     }
 
+    /**
+     * Bounding box of the provided SDOUtils encoded information, without decoding a Geometry.
+     *
+     * <p>The ordinates are scanned with a stride of D, only x and y are considered:
+     *
+     * <ul>
+     *   <li>rectangles (INTERPRETATION 3) contribute their two corners
+     *   <li>circles (INTERPRETATION 4) contribute center and radius
+     *   <li>arcs (INTERPRETATION 2) contribute their exact bounds, including axis extremes
+     *   <li>custom elements (ETYPE 0) and orientation vectors of oriented points are skipped
+     * </ul>
+     *
+     * @param GTYPE SDO_GTYPE represents dimension, LRS, and geometry type
+     * @param point SDO_POINT, used when elemInfo is null
+     * @param elemInfo
+     * @param ordinates
+     * @return Envelope of the geometry, null envelope if there is nothing to include
+     */
+    public static Envelope envelope(
+            final int GTYPE, double[] point, int[] elemInfo, double[] ordinates) {
+        Envelope env = new Envelope();
+        if (elemInfo == null || ordinates == null) {
+            if (point != null && !Double.isNaN(point[0]) && !Double.isNaN(point[1])) {
+                env.expandToInclude(point[0], point[1]);
+            }
+            return env;
+        }
+        final int D = D(GTYPE);
+        final int TRIPLETS = elemInfo.length / 3;
+        int compoundLast = -1; // last sub-element triplet of the current compound element
+
+        for (int triplet = 0; triplet < TRIPLETS; triplet++) {
+            final int etype = ETYPE(elemInfo, triplet);
+            final int interpretation = INTERPRETATION(elemInfo, triplet);
+            final int start = STARTING_OFFSET(elemInfo, triplet) - 1;
+            final int next = STARTING_OFFSET(elemInfo, triplet + 1);
+            int end = next != -1 ? next - 1 : ordinates.length;
+
+            switch (etype) {
+                case SDOGeometryEType.COMPOUND:
+                case SDOGeometryEType.COMPOUND_POLYGON:
+                case SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR:
+                case SDOGeometryEType.COMPOUND_POLYGON_INTERIOR:
+                    compoundLast = triplet + interpretation;
+                    continue; // header, the sub-elements describe the ordinates
+
+                case SDOGeometryEType.CUSTOM:
+                    continue;
+            }
+            if (triplet < compoundLast) {
+                end += D; // sub-elements share their last point with the next one
+            }
+            end = Math.min(end, ordinates.length);
+
+            if (etype == SDOGeometryEType.POINT && interpretation == 0) {
+                continue; // orientation vector of an oriented point
+            } else if (interpretation == 2
+                    && (etype == SDOGeometryEType.LINE
+                            || etype == SDOGeometryEType.POLYGON
+                            || etype == SDOGeometryEType.POLYGON_EXTERIOR
+                            || etype == SDOGeometryEType.POLYGON_INTERIOR)) {
+                int i = start;
+                for (; i + 2 * D + 1 < end; i += 2 * D) {
+                    SDOCircularArcs.expandToIncludeArc(
+                            env,
+                            ordinates[i],
+                            ordinates[i + 1],
+                            ordinates[i + D],
+                            ordinates[i + D + 1],
+                            ordinates[i + 2 * D],
+                            ordinates[i + 2 * D + 1]);
+                }
+                for (; i + 1 < end; i += D) {
+                    env.expandToInclude(ordinates[i], ordinates[i + 1]);
+                }
+            } else if (interpretation == 4
+                    && etype != SDOGeometryEType.POINT
+                    && etype != SDOGeometryEType.LINE
+                    && end - start >= 3 * D) {
+                SDOCircularArcs.expandToIncludeCircle(
+                        env,
+                        ordinates[start],
+                        ordinates[start + 1],
+                        ordinates[start + D],
+                        ordinates[start + D + 1],
+                        ordinates[start + 2 * D],
+                        ordinates[start + 2 * D + 1]);
+            } else {
+                // points, straight edges and rectangle corners
+                for (int i = start; i + 1 < end; i += D) {
+                    if (!Double.isNaN(ordinates[i]) && !Double.isNaN(ordinates[i + 1])) {
+                        env.expandToInclude(ordinates[i], ordinates[i + 1]);
+                    }
+                }
+            }
+        }
+        return env;
+    }
+
     /**
      * Decode geometry from provided SDOUtils encoded information.
      *
@@ -2032,6 +2036,31 @@ public final class SDOUtils {
             double[] point,
             int[] elemInfo,
             double[] ordinates) {
+        return create(gf, GTYPE, SRID, point, elemInfo, ordinates, SDOCircularArcs.DEFAULT);
+    }
+
+    /**
+     * Decode geometry from provided SDOUtils encoded information.
+     *
+     * <p>Circular arcs and circles are linearized using the provided SDOCircularArcs.
+     *
+     * @param gf Used to construct returned Geometry
+     * @param GTYPE SDO_GTYPE represents dimension, LRS, and geometry type
+     * @param SRID SDO_SRID represents Spatial Reference System
+     * @param point
+     * @param elemInfo
+     * @param ordinates
+     * @param arcs Used to linearize arcs and circles
+     * @return Geometry as encoded
+     */
+    public static Geometry create(
+            GeometryFactory gf,
+            final int GTYPE,
+            final int SRID,
+            double[] point,
+            int[] elemInfo,
+            double[] ordinates,
+            SDOCircularArcs arcs) {
         final int L = SDOUtils.L(GTYPE);
         final int TT = SDOUtils.TT(GTYPE);
         double[] list;
@@ -2039,6 +2068,17 @@ public final class SDOUtils {
 
         CoordinateSequence coords;
 
+        if (SDOSolidDecoder.isSolid(GTYPE, elemInfo, 0)) {
+            // faces are read from the ordinates in place
+            return SDOSolidDecoder.create(gf, GTYPE, SRID, elemInfo, 0, ordinates);
+        }
+        if (TT == SDOGeometryType.MULTIPOINT) {
+            // point clusters are read from the ordinates in place
+            MultiPoint points = createPointCluster(gf, GTYPE, SRID, elemInfo, ordinates);
+            if (points != null) {
+                return points;
+            }
+        }
         if ((L == 0) && (TT == 01) && (point != null) && (elemInfo == null)) {
             // Single Point Type Optimization
             coords = SDOUtils.coordinates(gf.getCoordinateSequenceFactory(), GTYPE, point);
@@ -2046,6 +2086,7 @@ public final class SDOUtils {
         } else {
             int element = 0;
             int etype = ETYPE(elemInfo, element);
+            int offset = 0;
             if (etype == 0) {
                 // complex type, search for encapsulated simpletype (with etype != 0)
                 int startpointCoordinates = 0;
@@ -2057,21 +2098,16 @@ public final class SDOUtils {
                     startpointCoordinates = STARTING_OFFSET(elemInfo, element);
                 }
 
-                // if we found the simple fallback, read it
+                // if we found the simple fallback, read it in place from its starting offset
                 if (etype != -1) {
-                    int ol = ordinates.length;
-                    int elemsToCopy = ol - (startpointCoordinates - 1);
-                    double[] newOrdinates = new double[elemsToCopy];
-                    System.arraycopy(
-                            ordinates, startpointCoordinates - 1, newOrdinates, 0, elemsToCopy);
-                    elemInfo = new int[] {1, etype, INTERPRETATION(elemInfo, element)};
-                    ordinates = newOrdinates;
+                    offset = startpointCoordinates - 1;
+                    elemInfo = shift(elemInfo, element, offset);
                 }
             }
-            coords = SDOUtils.coordinates(gf.getCoordinateSequenceFactory(), GTYPE, ordinates);
+            coords = SDOUtils.coordinates(gf.getCoordinateSequenceFactory(), GTYPE, ordinates, offset);
         }
 
-        return create(gf, GTYPE, SRID, elemInfo, 0, coords, -1);
+        return create(gf, GTYPE, SRID, elemInfo, 0, coords, -1, arcs);
     }
 
     /**
@@ -2096,34 +2132,60 @@ public final class SDOUtils {
             final int triplet,
             CoordinateSequence coords,
             final int N) {
+        return create(gf, GTYPE, SRID, elemInfo, triplet, coords, N, SDOCircularArcs.DEFAULT);
+    }
+
+    /**
+     * Consturct geometry with SDOUtils encoded information over a CoordinateList.
+     *
+     * @param gf
+     * @param GTYPE Encoding of <b>D</b>imension, <b>L</b>RS and <b>SDOGeometryType</b>ype
+     * @param SRID
+     * @param elemInfo
+     * @param coords
+     * @param N Number of triplets (-1 for unknown/don't care)
+     * @param arcs Used to linearize arcs and circles
+     * @return Geometry as encoded, or null w/ log if it cannot be represented via JTS
+     */
+    public static Geometry create(
+            GeometryFactory gf,
+            final int GTYPE,
+            final int SRID,
+            final int[] elemInfo,
+            final int triplet,
+            CoordinateSequence coords,
+            final int N,
+            SDOCircularArcs arcs) {
         GeometryFactory curvedFactory = gf;
 
+        if (SDOSolidDecoder.isSolid(GTYPE, elemInfo, triplet)) {
+            return SDOSolidDecoder.create(curvedFactory, GTYPE, SRID, elemInfo, triplet, coords);
+        }
+        // triplets are decoded once, then shared by every element
+        final SDOElemInfo info = new SDOElemInfo(elemInfo, D(GTYPE), coords.size());
+
         switch (SDOUtils.TT(GTYPE)) {
             case SDOGeometryType.POINT:
-                return createPoint(curvedFactory, GTYPE, SRID, elemInfo, triplet, coords);
+                return createPoint(curvedFactory, GTYPE, SRID, info, triplet, coords);
 
             case SDOGeometryType.LINE:
-                return createLine(curvedFactory, GTYPE, SRID, elemInfo, triplet, coords, false);
+                return createLine(curvedFactory, GTYPE, SRID, info, triplet, coords, false, arcs);
 
             case SDOGeometryType.POLYGON:
-                return createPolygon(curvedFactory, GTYPE, SRID, elemInfo, triplet, coords);
+                return createPolygon(curvedFactory, GTYPE, SRID, info, triplet, coords, arcs);
 
             case SDOGeometryType.MULTIPOINT:
-                return createMultiPoint(curvedFactory, GTYPE, SRID, elemInfo, triplet, coords);
+                return createMultiPoint(curvedFactory, GTYPE, SRID, info, triplet, coords);
 
             case SDOGeometryType.MULTILINE:
-                return createMultiLine(curvedFactory, GTYPE, SRID, elemInfo, triplet, coords, N);
+                return createMultiLine(curvedFactory, GTYPE, SRID, info, triplet, coords, N, arcs);
 
             case SDOGeometryType.MULTIPOLYGON:
                 return createMultiPolygon(
-                        curvedFactory, GTYPE, SRID, elemInfo, triplet, coords, N, false);
+                        curvedFactory, GTYPE, SRID, info, triplet, coords, N, false, arcs);
 
             case SDOGeometryType.COLLECTION:
-                return createCollection(curvedFactory, GTYPE, SRID, elemInfo, triplet, coords, N);
-
-            case SDOGeometryType.SOLID:
-                return createMultiPolygon(
-                        curvedFactory, GTYPE, SRID, elemInfo, triplet, coords, N, true);
+                return createCollection(curvedFactory, GTYPE, SRID, info, triplet, coords, N, arcs);
 
             case SDOGeometryType.UNKNOWN:
             default:
@@ -2165,13 +2227,13 @@ public final class SDOUtils {
             GeometryFactory gf,
             final int GTYPE,
             final int SRID,
-            final int[] elemInfo,
+            final SDOElemInfo info,
             final int element,
             CoordinateSequence coords) {
-        final int STARTING_OFFSET = STARTING_OFFSET(elemInfo, element);
-        final int etype = ETYPE(elemInfo, element);
-        final int INTERPRETATION = INTERPRETATION(elemInfo, element);
-        final int LENGTH = coords.size() * D(GTYPE);
+        final int STARTING_OFFSET = info.offset(element);
+        final int etype = info.etype(element);
+        final int INTERPRETATION = info.interpretation(element);
+        final int LENGTH = info.length;
 
         if (!(STARTING_OFFSET >= 1) || !(STARTING_OFFSET <= LENGTH))
             throw new IllegalArgumentException("Invalid ELEM_INFO STARTING_OFFSET ");
@@ -2188,8 +2250,7 @@ public final class SDOUtils {
                         subList(
                                 gf.getCoordinateSequenceFactory(),
                                 coords,
-                                GTYPE,
-                                elemInfo,
+                                info,
                                 element,
                                 false));
 
@@ -2215,12 +2276,13 @@ public final class SDOUtils {
             GeometryFactory gf,
             final int GTYPE,
             final int SRID,
-            final int[] elemInfo,
+            final SDOElemInfo info,
             final int triplet,
             CoordinateSequence coords,
-            boolean compoundElement) {
-        final int etype = ETYPE(elemInfo, triplet);
-        final int INTERPRETATION = INTERPRETATION(elemInfo, triplet);
+            boolean compoundElement,
+            SDOCircularArcs arcs) {
+        final int etype = info.etype(triplet);
+        final int INTERPRETATION = info.interpretation(triplet);
 
         if (etype != SDOGeometryEType.LINE && etype != SDOGeometryEType.COMPOUND) return null;
 
@@ -2230,8 +2292,7 @@ public final class SDOUtils {
                     subList(
                             gf.getCoordinateSequenceFactory(),
                             coords,
-                            GTYPE,
-                            elemInfo,
+                            info,
                             triplet,
                             compoundElement);
             result = gf.createLineString(subList);
@@ -2240,20 +2301,19 @@ public final class SDOUtils {
                     subList(
                             gf.getCoordinateSequenceFactory(),
                             coords,
-                            GTYPE,
-                            elemInfo,
+                            info,
                             triplet,
                             compoundElement);
-            result = gf.createLinearRing(subList);
+            result = gf.createLineString(arcString(gf.getCoordinateSequenceFactory(), subList, arcs));
         } else if (etype == SDOGeometryEType.COMPOUND) {
-            int triplets = INTERPRETATION;
-            List<LineString> components = new ArrayList<>(triplets);
-            for (int i = 1; i <= triplets; i++) {
-                LineString component =
-                    (LineString) createLine(gf, GTYPE, SRID, elemInfo, triplet + i, coords, true);
-                components.add(component);
-            }
-            result = gf.createMultiLineString(components.toArray(new LineString[0]));
+            result =
+                    gf.createLineString(
+                            compound(
+                                    gf.getCoordinateSequenceFactory(),
+                                    coords,
+                                    info,
+                                    triplet,
+                                    arcs));
         } else {
             throw new IllegalArgumentException(
                     "ELEM_INFO SDOGeometryEType "
@@ -2267,6 +2327,26 @@ public final class SDOUtils {
         return result;
     }
 
+    /** ETYPEs starting a polygon */
+    private static final int[] POLYGON_ETYPES = {
+        SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR,
+        SDOGeometryEType.COMPOUND_POLYGON,
+        SDOGeometryEType.POLYGON,
+        SDOGeometryEType.POLYGON_EXTERIOR,
+        SDOGeometryEType.FACE_EXTERIOR
+    };
+
+    /** ETYPEs of polygon rings */
+    private static final int[] RING_ETYPES = {
+        SDOGeometryEType.COMPOUND_POLYGON,
+        SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR,
+        SDOGeometryEType.COMPOUND_POLYGON_INTERIOR,
+        SDOGeometryEType.POLYGON,
+        SDOGeometryEType.POLYGON_EXTERIOR,
+        SDOGeometryEType.POLYGON_INTERIOR,
+        SDOGeometryEType.FACE_EXTERIOR
+    };
+
     /**
      * Create Polygon as encoded.
      *
@@ -2309,34 +2389,29 @@ public final class SDOUtils {
             GeometryFactory gf,
             final int GTYPE,
             final int SRID,
-            final int[] elemInfo,
+            final SDOElemInfo info,
             int triplet,
-            CoordinateSequence coords)
+            CoordinateSequence coords,
+            SDOCircularArcs arcs)
             throws IllegalArgumentException {
-        final int STARTING_OFFSET = STARTING_OFFSET(elemInfo, triplet);
-        final int eTYPE = ETYPE(elemInfo, triplet);
-        final int INTERPRETATION = INTERPRETATION(elemInfo, triplet);
+        final int STARTING_OFFSET = info.offset(triplet);
+        final int eTYPE = info.etype(triplet);
+        final int INTERPRETATION = info.interpretation(triplet);
 
         ensure(
                 "ELEM_INFO STARTING_OFFSET {1} must be in the range {0}..{1} of COORDINATES",
-                1, STARTING_OFFSET, ordinateSize(coords, GTYPE));
-        if (!(1 <= STARTING_OFFSET && STARTING_OFFSET <= ordinateSize(coords, GTYPE))) {
+                1, STARTING_OFFSET, info.length);
+        if (!(1 <= STARTING_OFFSET && STARTING_OFFSET <= info.length)) {
             throw new IllegalArgumentException(
                     "ELEM_INFO STARTING_OFFSET "
                             + STARTING_OFFSET
                             + "inconsistent with COORDINATES length "
-                            + ordinateSize(coords, GTYPE));
+                            + info.length);
         }
         ensure(
                 "SDOGeometryEType {0} must be expected POLYGON or POLYGON_EXTERIOR (one of {1})",
                 eTYPE,
-                new int[] {
-                    SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR,
-                    SDOGeometryEType.COMPOUND_POLYGON,
-                    SDOGeometryEType.POLYGON,
-                    SDOGeometryEType.POLYGON_EXTERIOR,
-                    SDOGeometryEType.FACE_EXTERIOR
-                });
+                POLYGON_ETYPES);
         if ((eTYPE != SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR)
                 && (eTYPE != SDOGeometryEType.COMPOUND_POLYGON)
                 && ((INTERPRETATION < 1) || (INTERPRETATION > 4))) {
@@ -2344,31 +2419,28 @@ public final class SDOUtils {
             return null;
         }
 
-        LinearRing exteriorRing = createLinearRing(gf, GTYPE, SRID, elemInfo, triplet, coords);
-        if (eTYPE == SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR) {
-            triplet = triplet + elemInfo[2];
-        }
+        LinearRing exteriorRing = createLinearRing(gf, GTYPE, SRID, info, triplet, coords, arcs);
+        triplet += info.triplets(triplet) - 1;
 
         List rings = new LinkedList();
         int etype;
         HOLES:
-        for (int i = triplet + 1; (etype = ETYPE(elemInfo, i)) != -1; ) {
+        for (int i = triplet + 1; (etype = info.etype(i)) != -1; ) {
             if (etype == SDOGeometryEType.POLYGON_INTERIOR) {
-                rings.add(createLinearRing(gf, GTYPE, SRID, elemInfo, i, coords));
+                rings.add(createLinearRing(gf, GTYPE, SRID, info, i, coords, arcs));
                 i++;
             } else if (etype == SDOGeometryEType.COMPOUND_POLYGON_INTERIOR) {
-                int subelements = INTERPRETATION(elemInfo, i);
-                rings.add(createLinearRing(gf, GTYPE, SRID, elemInfo, i, coords));
-                i = i + subelements + 1;
+                rings.add(createLinearRing(gf, GTYPE, SRID, info, i, coords, arcs));
+                i += info.triplets(i);
             } else if (etype
                     == SDOGeometryEType.POLYGON) { // nead to test Orientationwiseness of Ring to see if it
                 // is
                 // interior or not - (use POLYGON_INTERIOR to avoid
                 // pain)
 
-                LinearRing ring = createLinearRing(gf, GTYPE, SRID, elemInfo, i, coords);
+                LinearRing ring = createLinearRing(gf, GTYPE, SRID, info, i, coords, arcs);
 
-                if (Orientation.isCCW(ring.getCoordinates())) { // it is an Interior Hole
+                if (SDOCoordinates.isCCW(ring.getCoordinateSequence())) { // it is an Interior Hole
                     rings.add(ring);
                     i++;
                 } else { // it is the next Polygon! - get out of here
@@ -2414,14 +2486,15 @@ public final class SDOUtils {
             GeometryFactory gf,
             final int GTYPE,
             final int SRID,
-            final int[] elemInfo,
+            final SDOElemInfo info,
             final int triplet,
-            CoordinateSequence coords) {
+            CoordinateSequence coords,
+            SDOCircularArcs arcs) {
 
-        final int STARTING_OFFSET = STARTING_OFFSET(elemInfo, triplet);
-        final int eTYPE = ETYPE(elemInfo, triplet);
-        final int INTERPRETATION = INTERPRETATION(elemInfo, triplet);
-        final int LENGTH = coords.size() * D(GTYPE);
+        final int STARTING_OFFSET = info.offset(triplet);
+        final int eTYPE = info.etype(triplet);
+        final int INTERPRETATION = info.interpretation(triplet);
+        final int LENGTH = info.length;
 
         if (!(STARTING_OFFSET >= 1) || !(STARTING_OFFSET <= LENGTH))
             throw new IllegalArgumentException(
@@ -2433,15 +2506,7 @@ public final class SDOUtils {
         ensure(
                 "SDOGeometryEType {0} must be expected POLYGON or POLYGON_EXTERIOR (one of {1})",
                 eTYPE,
-                new int[] {
-                    SDOGeometryEType.COMPOUND_POLYGON,
-                    SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR,
-                    SDOGeometryEType.COMPOUND_POLYGON_INTERIOR,
-                    SDOGeometryEType.POLYGON,
-                    SDOGeometryEType.POLYGON_EXTERIOR,
-                    SDOGeometryEType.POLYGON_INTERIOR,
-                    SDOGeometryEType.FACE_EXTERIOR
-                });
+                RING_ETYPES);
         if ((eTYPE != SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR)
                 && (eTYPE != SDOGeometryEType.COMPOUND_POLYGON)
                 && (eTYPE != SDOGeometryEType.COMPOUND_POLYGON_INTERIOR)
@@ -2451,35 +2516,26 @@ public final class SDOUtils {
         }
         LinearRing ring;
 
-        if (eTYPE == SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR || eTYPE == SDOGeometryEType.COMPOUND_POLYGON_INTERIOR) {
-            int triplets = INTERPRETATION;
-            List<LineString> components = new ArrayList<>(triplets);
-/*
-            for (int i = 1; i <= triplets; i++) {
-                LineString component =
-                    (LineString) createLine(gf, GTYPE, SRID, elemInfo, triplet + i, coords, i < triplets);
-                components.add(component);
-            }
-*/
+        if (eTYPE == SDOGeometryEType.COMPOUND_POLYGON
+                || eTYPE == SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR
+                || eTYPE == SDOGeometryEType.COMPOUND_POLYGON_INTERIOR) {
             CoordinateSequence coordSeq =
-                subList(
-                    gf.getCoordinateSequenceFactory(),
-                    coords,
-                    GTYPE,
-                    elemInfo,
-                    triplet,
-                    false);
+                    compound(
+                            gf.getCoordinateSequenceFactory(),
+                            coords,
+                            info,
+                            triplet,
+                            arcs);
             coordSeq =
-                CoordinateSequences.ensureValidRing(
-                    gf.getCoordinateSequenceFactory(), coordSeq);
-            ring = (LinearRing) gf.createLinearRing(coordSeq);
+                    CoordinateSequences.ensureValidRing(
+                            gf.getCoordinateSequenceFactory(), coordSeq);
+            ring = gf.createLinearRing(coordSeq);
         } else if (INTERPRETATION == 1) {
             CoordinateSequence coordSeq =
                     subList(
                             gf.getCoordinateSequenceFactory(),
                             coords,
-                            GTYPE,
-                            elemInfo,
+                            info,
                             triplet,
                             false);
             coordSeq =
@@ -2491,8 +2547,7 @@ public final class SDOUtils {
                     subList(
                             gf.getCoordinateSequenceFactory(),
                             coords,
-                            GTYPE,
-                            elemInfo,
+                            info,
                             triplet,
                             false);
             // not calling ensureValidRing, according to Oracle docs tolerance is not considered:
@@ -2501,7 +2556,7 @@ public final class SDOUtils {
             // the second arc. The coordinates for points 1 and 5 must be the same
             // (tolerance is not considered), and point 3 is not repeated.
 
-            ring = (LinearRing) gf.createLinearRing(coordSeq);
+            ring = gf.createLinearRing(arcString(gf.getCoordinateSequenceFactory(), coordSeq, arcs));
         } else if (INTERPRETATION == 3) {
             // rectangle does not maintain measures
             //
@@ -2509,8 +2564,7 @@ public final class SDOUtils {
                     subList(
                             gf.getCoordinateSequenceFactory(),
                             coords,
-                            GTYPE,
-                            elemInfo,
+                            info,
                             triplet,
                             false);
             Coordinate min = ext.getCoordinate(0);
@@ -2524,16 +2578,14 @@ public final class SDOUtils {
                                 new Coordinate(min.x, max.y),
                                 min
                             });
-/*
         } else if (INTERPRETATION == 4) {
-            // rectangle does not maintain measures
+            // circle described by three distinct points on its circumference
             //
             CoordinateSequence ext =
                     subList(
                             gf.getCoordinateSequenceFactory(),
                             coords,
-                            GTYPE,
-                            elemInfo,
+                            info,
                             triplet,
                             false);
             if (ext.size() != 3) {
@@ -2542,22 +2594,15 @@ public final class SDOUtils {
                                 + ext.size()
                                 + " instead");
             }
-            double[] cp = new double[ext.size() * 2 + 2];
-            for (int i = 0; i < ext.size(); i++) {
-                cp[i * 2] = ext.getOrdinate(i, 0);
-                cp[i * 2 + 1] = ext.getOrdinate(i, 1);
-            }
-            // figure out the other point
-            CircularArc arc = new CircularArc(cp[0], cp[1], cp[2], cp[3], cp[4], cp[5]);
-            ring = CurvedGeometries.toCircle(arc, gf, gf.getTolerance());
-*/
+            final boolean clockwise = eTYPE == SDOGeometryEType.POLYGON_INTERIOR;
+            ring = gf.createLinearRing(circle(gf.getCoordinateSequenceFactory(), ext, clockwise, arcs));
         } else {
             throw new IllegalArgumentException(
                     "ELEM_INFO INTERPRETAION "
-                            + elemInfo[2]
+                            + INTERPRETATION
                             + " not supported"
                             + "for JTS Polygon Linear Rings."
-                            + "ELEM_INFO INTERPRETATION 1,2 and 3 are supported");
+                            + "ELEM_INFO INTERPRETATION 1,2,3 and 4 are supported");
         }
 
         ring.setSRID(SRID);
@@ -2587,13 +2632,13 @@ public final class SDOUtils {
             GeometryFactory gf,
             final int GTYPE,
             final int SRID,
-            final int[] elemInfo,
+            final SDOElemInfo info,
             final int triplet,
             CoordinateSequence coords) {
-        final int STARTING_OFFSET = STARTING_OFFSET(elemInfo, triplet);
-        final int eTYPE = ETYPE(elemInfo, triplet);
-        final int INTERPRETATION = INTERPRETATION(elemInfo, triplet);
-        final int LENGTH = coords.size() * D(GTYPE);
+        final int STARTING_OFFSET = info.offset(triplet);
+        final int eTYPE = info.etype(triplet);
+        final int INTERPRETATION = info.interpretation(triplet);
+        final int LENGTH = info.length;
 
         if (!(STARTING_OFFSET >= 1) || !(STARTING_OFFSET <= LENGTH))
             throw new IllegalArgumentException(
@@ -2612,9 +2657,7 @@ public final class SDOUtils {
             return null;
         }
 
-        final int LEN = D(GTYPE);
-
-        int start = (STARTING_OFFSET - 1) / LEN;
+        int start = info.start(triplet);
         int end = start + INTERPRETATION;
 
         MultiPoint points =
@@ -2624,6 +2667,72 @@ public final class SDOUtils {
         return points;
     }
 
+    /**
+     * Create MultiPoint from point cluster triplets, without copying ordinates.
+     *
+     * <p>Each point is an SDOOrdinateSlice of a single coordinate over the ordinates array, so a
+     * cluster of n points costs n Points and n slices whatever the factory.
+     *
+     * @param gf Used to construct MultiPoint
+     * @param GTYPE Encoding of <b>D</b>imension, <b>L</b>RS and <b>SDOGeometryType</b>ype
+     * @param SRID Spatial Reference System
+     * @param elemInfo Only POINT triplets, INTERPRETATION holding the number of points
+     * @param ordinates SDO_ORDINATES, used without copying
+     * @return MultiPoint, or null when elemInfo, the LRS layout or the factory (producing
+     *     CoordinateAccess) require the general decoding
+     */
+    private static MultiPoint createPointCluster(
+            GeometryFactory gf,
+            final int GTYPE,
+            final int SRID,
+            final int[] elemInfo,
+            double[] ordinates) {
+        final int D = D(GTYPE);
+        final int L = L(GTYPE);
+        if (elemInfo == null
+                || elemInfo.length < 3
+                || ordinates == null
+                || (L != 0 && L != D) // slices hold measures last
+                || gf.getCoordinateSequenceFactory() instanceof CoordinateAccessFactory) {
+            return null;
+        }
+        final int TRIPLETS = elemInfo.length / 3;
+        int count = 0;
+        for (int i = 0; i < TRIPLETS; i++) {
+            if (ETYPE(elemInfo, i) != SDOGeometryEType.POINT || INTERPRETATION(elemInfo, i) < 1) {
+                return null; // oriented points and others
+            }
+            final int START = STARTING_OFFSET(elemInfo, i) - 1;
+            final int N = INTERPRETATION(elemInfo, i);
+            if (START < 0 || START % D != 0 || START + (long) N * D > ordinates.length) {
+                throw new IllegalArgumentException(
+                        "ELEM_INFO STARTING_OFFSET "
+                                + (START + 1)
+                                + " with "
+                                + N
+                                + " points inconsistent with ORDINATES length "
+                                + ordinates.length);
+            }
+            count += N;
+        }
+        final int MEASURES = L == 0 ? 0 : 1;
+        Point[] points = new Point[count];
+        int point = 0;
+        for (int i = 0; i < TRIPLETS; i++) {
+            final int START = STARTING_OFFSET(elemInfo, i) - 1;
+            final int N = INTERPRETATION(elemInfo, i);
+            for (int j = 0; j < N; j++) {
+                Point p = gf.createPoint(new SDOOrdinateSlice(ordinates, START + j * D, 1, D, MEASURES));
+                p.setSRID(SRID);
+                points[point++] = p;
+            }
+        }
+        MultiPoint multiPoint = gf.createMultiPoint(points);
+        multiPoint.setSRID(SRID);
+
+        return multiPoint;
+    }
+
     /**
      * Create MultiLineString as encoded by elemInfo.
      *
@@ -2649,15 +2758,16 @@ public final class SDOUtils {
             GeometryFactory gf,
             final int GTYPE,
             final int SRID,
-            final int[] elemInfo,
+            final SDOElemInfo info,
             final int triplet,
             CoordinateSequence coords,
-            final int N) {
-        final int STARTING_OFFSET = STARTING_OFFSET(elemInfo, triplet);
-        final int eTYPE = ETYPE(elemInfo, triplet);
-        final int INTERPRETATION = INTERPRETATION(elemInfo, triplet);
+            final int N,
+            SDOCircularArcs arcs) {
+        final int STARTING_OFFSET = info.offset(triplet);
+        final int eTYPE = info.etype(triplet);
+        final int INTERPRETATION = info.interpretation(triplet);
 
-        final int LENGTH = coords.size() * D(GTYPE);
+        final int LENGTH = info.length;
 
         if (!(STARTING_OFFSET >= 1) || !(STARTING_OFFSET <= LENGTH))
             throw new IllegalArgumentException(
@@ -2665,23 +2775,26 @@ public final class SDOUtils {
                             + STARTING_OFFSET
                             + " inconsistent with ORDINATES length "
                             + coords.size());
-        if (!(eTYPE == SDOGeometryEType.LINE))
+        if (!(eTYPE == SDOGeometryEType.LINE) && !(eTYPE == SDOGeometryEType.COMPOUND))
             throw new IllegalArgumentException(
                     "SDOGeometryEType " + eTYPE + " inconsistent with expected LINE");
-        if (!(INTERPRETATION == 1)) {
-            // we cannot represent INTERPRETATION > 1
+        if (eTYPE == SDOGeometryEType.LINE && !(INTERPRETATION == 1) && !(INTERPRETATION == 2)) {
+            // arcs are linearized, other interpretations cannot be represented
             return null;
         }
 
         // final int LEN = D(GTYPE);
-        final int endTriplet = (N != -1) ? (triplet + N) : (elemInfo.length / 3);
+        final int endTriplet = (N != -1) ? (triplet + N) : info.size;
 
         List list = new LinkedList();
         int etype;
         LINES: // bad bad gotos jody
-        for (int i = triplet; (i < endTriplet) && ((etype = ETYPE(elemInfo, i)) != -1); i++) {
+        for (int i = triplet; (i < endTriplet) && ((etype = info.etype(i)) != -1); i++) {
             if (etype == SDOGeometryEType.LINE) {
-                list.add(createLine(gf, GTYPE, SRID, elemInfo, i, coords, false));
+                list.add(createLine(gf, GTYPE, SRID, info, i, coords, false, arcs));
+            } else if (etype == SDOGeometryEType.COMPOUND) {
+                list.add(createLine(gf, GTYPE, SRID, info, i, coords, false, arcs));
+                i += info.triplets(i) - 1; // skip sub-elements
             } else { // not a LinearString - get out of here
 
                 break LINES; // goto LINES
@@ -2719,15 +2832,16 @@ public final class SDOUtils {
             GeometryFactory gf,
             final int GTYPE,
             final int SRID,
-            final int[] elemInfo,
+            final SDOElemInfo info,
             final int triplet,
             CoordinateSequence coords,
             final int N,
-            boolean threeDimensional) {
-        final int STARTING_OFFSET = STARTING_OFFSET(elemInfo, triplet);
-        final int eTYPE = ETYPE(elemInfo, triplet);
-        final int INTERPRETATION = INTERPRETATION(elemInfo, triplet);
-        final int LENGTH = coords.size() * D(GTYPE);
+            boolean threeDimensional,
+            SDOCircularArcs arcs) {
+        final int STARTING_OFFSET = info.offset(triplet);
+        final int eTYPE = info.etype(triplet);
+        final int INTERPRETATION = info.interpretation(triplet);
+        final int LENGTH = info.length;
 
         if (!(STARTING_OFFSET >= 1) || !(STARTING_OFFSET <= LENGTH))
             throw new IllegalArgumentException(
@@ -2745,28 +2859,26 @@ public final class SDOUtils {
                     "SDOGeometryEType " + eTYPE + " inconsistent with expected POLYGON or POLYGON_EXTERIOR");
         if (!(eTYPE == SDOGeometryEType.COMPOUND_POLYGON)
                 && !(eTYPE == SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR)
-                && INTERPRETATION != 1
-                && INTERPRETATION != 3) {
+                && (INTERPRETATION < 1 || INTERPRETATION > 4)) {
             return null;
         }
-        final int endTriplet = (N != -1) ? (triplet + N) : ((elemInfo.length / 3) + 1);
+        final int endTriplet = (N != -1) ? (triplet + N) : (info.size + 1);
 
         List<Polygon> list = new LinkedList<>();
         int etype;
         POLYGONS:
-        for (int i = triplet; (i < endTriplet) && ((etype = ETYPE(elemInfo, i)) != -1); i++) {
+        for (int i = triplet; (i < endTriplet) && ((etype = info.etype(i)) != -1); i++) {
             if ((etype == SDOGeometryEType.POLYGON)
                     || (etype == SDOGeometryEType.POLYGON_EXTERIOR)
                     || (etype == SDOGeometryEType.FACE_EXTERIOR)
                     || (etype == SDOGeometryEType.FACE_INTERIOR)) {
-                Polygon poly = createPolygon(gf, GTYPE, SRID, elemInfo, i, coords);
-                i += poly.getNumInteriorRing(); // skip interior rings
+                Polygon poly = createPolygon(gf, GTYPE, SRID, info, i, coords, arcs);
+                i = skipRings(info, i, poly) - 1; // skip interior rings
                 list.add(poly);
             } else if (etype == SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR
                     || etype == SDOGeometryEType.COMPOUND_POLYGON) {
-                Polygon poly = createPolygon(gf, GTYPE, SRID, elemInfo, i, coords);
-                int curvilinearElementsCount = getCurvilinearElementsCount(poly);
-                i += curvilinearElementsCount - 1;
+                Polygon poly = createPolygon(gf, GTYPE, SRID, info, i, coords, arcs);
+                i = skipRings(info, i, poly) - 1; // skip sub-elements and interior rings
                 list.add(poly);
             } else { // not a Polygon - get out here
 
@@ -2780,25 +2892,19 @@ public final class SDOUtils {
         return polys;
     }
 
-    private static int getCurvilinearElementsCount(Polygon poly) {
-        int sum = getCurvilinearElementsCount(poly.getExteriorRing());
+    /**
+     * Triplet following the exterior and interior rings of a polygon decoded from triplet.
+     *
+     * @param info decoded elemInfo
+     * @param triplet triplet of the exterior ring
+     * @param poly Polygon decoded from triplet
+     */
+    private static int skipRings(SDOElemInfo info, int triplet, Polygon poly) {
+        int next = info.next(triplet);
         for (int i = 0; i < poly.getNumInteriorRing(); i++) {
-            sum += getCurvilinearElementsCount(poly.getInteriorRingN(i));
-        }
-        return sum;
-    }
-
-    private static int getCurvilinearElementsCount(LineString ls) {
-/*
-        if (ls instanceof CompoundCurvedGeometry<?>) {
-            CompoundCurvedGeometry<?> curved = (CompoundCurvedGeometry<?>) ls;
-            // take into account the elemInfo describing the compound
-            return curved.getComponents().size() + 1;
-        } else {
-            return 1;
+            next = info.next(next);
         }
-*/
-        return 1;
+        return next;
     }
 
     /**
@@ -2829,13 +2935,14 @@ public final class SDOUtils {
             GeometryFactory gf,
             final int GTYPE,
             final int SRID,
-            final int[] elemInfo,
+            final SDOElemInfo info,
             final int triplet,
             CoordinateSequence coords,
-            final int N) {
-        final int STARTING_OFFSET = STARTING_OFFSET(elemInfo, triplet);
+            final int N,
+            SDOCircularArcs arcs) {
+        final int STARTING_OFFSET = info.offset(triplet);
 
-        final int LENGTH = coords.size() * D(GTYPE);
+        final int LENGTH = info.length;
 
         if (!(STARTING_OFFSET >= 1) || !(STARTING_OFFSET <= LENGTH))
             throw new IllegalArgumentException(
@@ -2844,7 +2951,7 @@ public final class SDOUtils {
                             + " inconsistent with ORDINATES length "
                             + coords.size());
 
-        final int endTriplet = (N != -1) ? (triplet + N) : ((elemInfo.length / 3) + 1);
+        final int endTriplet = (N != -1) ? (triplet + N) : (info.size + 1);
 
         List<Geometry> list = new LinkedList<>();
         int etype;
@@ -2853,8 +2960,8 @@ public final class SDOUtils {
 
         GEOMETRYS:
         for (int i = triplet; i < endTriplet; i++) {
-            etype = ETYPE(elemInfo, i);
-            interpretation = INTERPRETATION(elemInfo, i);
+            etype = info.etype(i);
+            interpretation = info.interpretation(i);
 
             switch (etype) {
                 case -1:
@@ -2862,9 +2969,9 @@ public final class SDOUtils {
 
                 case SDOGeometryEType.POINT:
                     if (interpretation == 1) {
-                        geom = createPoint(gf, GTYPE, SRID, elemInfo, i, coords);
+                        geom = createPoint(gf, GTYPE, SRID, info, i, coords);
                     } else if (interpretation > 1) {
-                        geom = createMultiPoint(gf, GTYPE, SRID, elemInfo, i, coords);
+                        geom = createMultiPoint(gf, GTYPE, SRID, info, i, coords);
                     } else {
                         throw new IllegalArgumentException(
                                 "SDOGeometryEType.POINT requires INTERPRETATION >= 1");
@@ -2873,14 +2980,22 @@ public final class SDOUtils {
                     break;
 
                 case SDOGeometryEType.LINE:
-                    geom = createLine(gf, GTYPE, SRID, elemInfo, i, coords, false);
+                    geom = createLine(gf, GTYPE, SRID, info, i, coords, false, arcs);
 
                     break;
 
                 case SDOGeometryEType.POLYGON:
                 case SDOGeometryEType.POLYGON_EXTERIOR:
-                    geom = createPolygon(gf, GTYPE, SRID, elemInfo, i, coords);
-                    i += ((Polygon) geom).getNumInteriorRing();
+                case SDOGeometryEType.COMPOUND_POLYGON:
+                case SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR:
+                    geom = createPolygon(gf, GTYPE, SRID, info, i, coords, arcs);
+                    i = skipRings(info, i, (Polygon) geom) - 1;
+
+                    break;
+
+                case SDOGeometryEType.COMPOUND:
+                    geom = createLine(gf, GTYPE, SRID, info, i, coords, false, arcs);
+                    i += info.triplets(i) - 1;
 
                     break;
 
@@ -2890,16 +3005,13 @@ public final class SDOUtils {
                                     + "(2003 is used to represent polygon holes, in a 1003 polygon exterior)");
 
                 case SDOGeometryEType.CUSTOM:
-                case SDOGeometryEType.COMPOUND:
-                case SDOGeometryEType.COMPOUND_POLYGON:
-                case SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR:
                 case SDOGeometryEType.COMPOUND_POLYGON_INTERIOR:
                 default:
                     throw new IllegalArgumentException(
                             "SDOGeometryEType "
                                     + etype
                                     + " not representable as a JTS Geometry."
-                                    + "(Custom and Compound Straight and Curved Geometries not supported)");
+                                    + "(Custom Geometries not supported)");
             }
 
             list.add(geom);
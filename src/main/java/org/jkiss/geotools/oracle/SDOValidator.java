@@ -0,0 +1,434 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+/**
+ * Checks SDO_GEOMETRY attributes before decoding, reporting Oracle error codes.
+ *
+ * <p>A single pass over SDO_ELEM_INFO checks, without creating any geometry:
+ *
+ * <ul>
+ *   <li>SDO_GTYPE dimension, LRS position and geometry type
+ *   <li>SDO_POINT use and NULL geometries
+ *   <li>triplet count, STARTING_OFFSET range, alignment and order
+ *   <li>ETYPE and INTERPRETATION combinations, their consistency with SDO_GTYPE, compound and
+ *       surface sub-element counts
+ *   <li>ordinate count against the dimension, coordinate counts of points, lines, rings,
+ *       rectangles, circles and boxes
+ *   <li>ring closure and the order of exterior and interior rings
+ * </ul>
+ *
+ * <p>Orientation, self intersection and tolerance based checks are left to the database.
+ *
+ * <pre><code>
+ * SDOValidator validator = new SDOValidator();
+ * if (validator.validate(gtype, point, elemInfo, ordinates) != SDOValidator.VALID) {
+ *     reject(row, validator.getResult()); // e.g. "13348 [Element &lt;2&gt;]"
+ * }
+ * </code></pre>
+ *
+ * <p>A validator keeps the outcome of its last validation and is not thread safe, create one per
+ * thread and reuse it.
+ */
+public final class SDOValidator {
+    /** Valid encoding */
+    public static final int VALID = 0;
+
+    /** ORA-13028: Invalid Gtype in the SDO_GEOMETRY object */
+    public static final int INVALID_GTYPE = 13028;
+
+    /** ORA-13031: Invalid Gtype in the SDO_GEOMETRY object for point object */
+    public static final int INVALID_POINT_GTYPE = 13031;
+
+    /** ORA-13032: Invalid NULL SDO_GEOMETRY object */
+    public static final int INVALID_NULL = 13032;
+
+    /** ORA-13033: Invalid data in the SDO_ELEM_INFO_ARRAY in SDO_GEOMETRY object */
+    public static final int INVALID_ELEM_INFO = 13033;
+
+    /** ORA-13034: Invalid data in the SDO_ORDINATE_ARRAY in SDO_GEOMETRY object */
+    public static final int INVALID_ORDINATES = 13034;
+
+    /** ORA-13341: a line geometry has fewer than two coordinates */
+    public static final int LINE_TOO_SHORT = 13341;
+
+    /** ORA-13342: an arc geometry has fewer than three coordinates */
+    public static final int ARC_TOO_SHORT = 13342;
+
+    /** ORA-13343: a polygon geometry has fewer than four coordinates */
+    public static final int POLYGON_TOO_SHORT = 13343;
+
+    /** ORA-13348: polygon boundary is not closed */
+    public static final int RING_NOT_CLOSED = 13348;
+
+    /** ORA-13366: invalid combination of interior exterior rings */
+    public static final int INVALID_RING_COMBINATION = 13366;
+
+    private int code;
+
+    private int element;
+
+    /**
+     * Validates the provided SDO_GEOMETRY attributes.
+     *
+     * @param GTYPE SDO_GTYPE
+     * @param point SDO_POINT (x,y,z), may be null
+     * @param elemInfo SDO_ELEM_INFO, may be null
+     * @param ordinates SDO_ORDINATES, may be null
+     * @return VALID or the Oracle error code of the first error found
+     */
+    public int validate(final int GTYPE, double[] point, int[] elemInfo, double[] ordinates) {
+        element = 0;
+        code = check(GTYPE, point, elemInfo, ordinates);
+        return code;
+    }
+
+    /** Outcome of the last validation, VALID or an Oracle error code. */
+    public int getCode() {
+        return code;
+    }
+
+    /** SDO_ELEM_INFO triplet (from 1) where the last error was found, 0 if none. */
+    public int getElement() {
+        return element;
+    }
+
+    /**
+     * Outcome of the last validation as SDO_GEOM.VALIDATE_GEOMETRY reports it: TRUE, or the error
+     * code followed by the SDO_ELEM_INFO triplet (from 1) where it was found.
+     */
+    public String getResult() {
+        if (code == VALID) {
+            return "TRUE";
+        }
+        return element == 0 ? String.valueOf(code) : code + " [Element <" + element + ">]";
+    }
+
+    /** Oracle message of the provided error code, null if unknown. */
+    public static String message(int code) {
+        switch (code) {
+            case INVALID_GTYPE:
+                return "Invalid Gtype in the SDO_GEOMETRY object";
+            case INVALID_POINT_GTYPE:
+                return "Invalid Gtype in the SDO_GEOMETRY object for point object";
+            case INVALID_NULL:
+                return "Invalid NULL SDO_GEOMETRY object";
+            case INVALID_ELEM_INFO:
+                return "Invalid data in the SDO_ELEM_INFO_ARRAY in SDO_GEOMETRY object";
+            case INVALID_ORDINATES:
+                return "Invalid data in the SDO_ORDINATE_ARRAY in SDO_GEOMETRY object";
+            case LINE_TOO_SHORT:
+                return "a line geometry has fewer than two coordinates";
+            case ARC_TOO_SHORT:
+                return "an arc geometry has fewer than three coordinates";
+            case POLYGON_TOO_SHORT:
+                return "a polygon geometry has fewer than four coordinates";
+            case RING_NOT_CLOSED:
+                return "polygon boundary is not closed";
+            case INVALID_RING_COMBINATION:
+                return "invalid combination of interior exterior rings";
+            default:
+                return null;
+        }
+    }
+
+    private int check(final int GTYPE, double[] point, int[] elemInfo, double[] ordinates) {
+        final int D = SDOUtils.D(GTYPE);
+        final int L = SDOUtils.L(GTYPE);
+        final int TT = SDOUtils.TT(GTYPE);
+
+        if (point == null && elemInfo == null && ordinates == null) {
+            return INVALID_NULL;
+        }
+        if (D < 2 || D > 4 || (L != 0 && (L < 3 || L > D)) || TT < 1 || TT > 9) {
+            return INVALID_GTYPE;
+        }
+        if ((TT == SDOGeometryType.SOLID || TT == SDOGeometryType.MULTISOLID) && D != 3) {
+            return INVALID_GTYPE;
+        }
+        if (elemInfo == null) {
+            if (point == null) {
+                return ordinates == null ? INVALID_NULL : INVALID_ELEM_INFO;
+            }
+            if (TT != SDOGeometryType.POINT) {
+                return INVALID_POINT_GTYPE;
+            }
+            if (point.length < 2 || Double.isNaN(point[0]) || Double.isNaN(point[1])) {
+                return INVALID_NULL;
+            }
+            return ordinates == null ? VALID : INVALID_ORDINATES;
+        }
+        if (elemInfo.length == 0 || elemInfo.length % 3 != 0) {
+            return INVALID_ELEM_INFO;
+        }
+        if (ordinates == null || ordinates.length % D != 0) {
+            return INVALID_ORDINATES;
+        }
+
+        final int TRIPLETS = elemInfo.length / 3;
+        boolean polygon = false; // exterior ring seen, interior rings may follow
+        for (int t = 0; t < TRIPLETS; ) {
+            element = t + 1;
+            final int OFFSET = elemInfo[t * 3];
+            final int ETYPE = elemInfo[t * 3 + 1];
+            final int INTERPRETATION = elemInfo[t * 3 + 2];
+            int result = offset(elemInfo, t, D, ordinates.length);
+            if (result != VALID) {
+                return result;
+            }
+            if (ETYPE != 0 && !allowed(TT, ETYPE)) {
+                return INVALID_ELEM_INFO;
+            }
+            final int START = OFFSET - 1;
+            final int END = end(elemInfo, t, ordinates.length);
+            switch (ETYPE) {
+                case 0: // custom, ignored
+                    t++;
+                    continue;
+
+                case SDOGeometryEType.POINT:
+                    if (INTERPRETATION < 0) {
+                        return INVALID_ELEM_INFO;
+                    }
+                    if (INTERPRETATION > 0 && (END - START) / D < INTERPRETATION) {
+                        return INVALID_ORDINATES;
+                    }
+                    polygon = false;
+                    t++;
+                    continue;
+
+                case SDOGeometryEType.LINE:
+                    result = line(INTERPRETATION, (END - START) / D);
+                    if (result != VALID) {
+                        return result;
+                    }
+                    polygon = false;
+                    t++;
+                    continue;
+
+                case SDOGeometryEType.COMPOUND:
+                case SDOGeometryEType.COMPOUND_POLYGON:
+                case SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR:
+                case SDOGeometryEType.COMPOUND_POLYGON_INTERIOR:
+                    {
+                        final boolean RING = ETYPE != SDOGeometryEType.COMPOUND;
+                        if (ETYPE == SDOGeometryEType.COMPOUND_POLYGON_INTERIOR && !polygon) {
+                            return INVALID_RING_COMBINATION;
+                        }
+                        if (INTERPRETATION < 1 || t + INTERPRETATION >= TRIPLETS) {
+                            return INVALID_ELEM_INFO;
+                        }
+                        int points = 1; // shared vertices counted once
+                        for (int s = t + 1; s <= t + INTERPRETATION; s++) {
+                            element = s + 1;
+                            result = offset(elemInfo, s, D, ordinates.length);
+                            if (result != VALID) {
+                                return result;
+                            }
+                            if (elemInfo[s * 3 + 1] != SDOGeometryEType.LINE) {
+                                return INVALID_ELEM_INFO;
+                            }
+                            // sub-elements share their last vertex with the next one
+                            final int SUB_END =
+                                    s < t + INTERPRETATION
+                                            ? elemInfo[(s + 1) * 3] - 1 + D
+                                            : end(elemInfo, s, ordinates.length);
+                            final int SUB_POINTS = (SUB_END - (elemInfo[s * 3] - 1)) / D;
+                            result = line(elemInfo[s * 3 + 2], SUB_POINTS);
+                            if (result != VALID) {
+                                return result;
+                            }
+                            points += SUB_POINTS - 1;
+                            if (s == t + INTERPRETATION && RING) {
+                                if (points < 4) {
+                                    return POLYGON_TOO_SHORT;
+                                }
+                                if (!closed(ordinates, START, SUB_END - D)) {
+                                    return RING_NOT_CLOSED;
+                                }
+                            }
+                        }
+                        polygon = RING;
+                        t += INTERPRETATION + 1;
+                        continue;
+                    }
+
+                case SDOGeometryEType.POLYGON:
+                case SDOGeometryEType.POLYGON_EXTERIOR:
+                case SDOGeometryEType.POLYGON_INTERIOR:
+                    if (ETYPE == SDOGeometryEType.POLYGON_INTERIOR && !polygon) {
+                        return INVALID_RING_COMBINATION;
+                    }
+                    result = ring(INTERPRETATION, ordinates, START, END, D);
+                    if (result != VALID) {
+                        return result;
+                    }
+                    polygon = true;
+                    t++;
+                    continue;
+
+                case SDOGeometryEType.SURFACE_EXTERIOR:
+                case SDOGeometryEType.SURFACE_INTERIOR:
+                case SDOGeometryEType.COMPOSITE_SOLID:
+                    // header, the following triplets are checked in turn
+                    if (INTERPRETATION < 1 || t + INTERPRETATION >= TRIPLETS) {
+                        return INVALID_ELEM_INFO;
+                    }
+                    polygon = false;
+                    t++;
+                    continue;
+
+                case SDOGeometryEType.SOLID:
+                    if (INTERPRETATION == 3) {
+                        if (END - START != 2 * D) {
+                            return INVALID_ORDINATES;
+                        }
+                    } else if (INTERPRETATION != 1 || t + 1 >= TRIPLETS) {
+                        return INVALID_ELEM_INFO;
+                    }
+                    polygon = false;
+                    t++;
+                    continue;
+
+                default:
+                    return INVALID_ELEM_INFO;
+            }
+        }
+        element = 0;
+        return VALID;
+    }
+
+    /**
+     * STARTING_OFFSET of triplet: in range, at the start of a coordinate, not before the previous
+     * triplet and after it unless the previous triplet is a header sharing its offset.
+     */
+    private static int offset(int[] elemInfo, int t, final int D, final int LENGTH) {
+        final int OFFSET = elemInfo[t * 3];
+        if (OFFSET < 1 || OFFSET > LENGTH || (OFFSET - 1) % D != 0) {
+            return INVALID_ELEM_INFO;
+        }
+        if (t > 0) {
+            final int PREVIOUS = elemInfo[(t - 1) * 3];
+            if (OFFSET < PREVIOUS || (OFFSET == PREVIOUS && !header(elemInfo, t - 1))) {
+                return INVALID_ELEM_INFO;
+            }
+        }
+        return VALID;
+    }
+
+    /** Elements followed by sub-elements starting at the same offset. */
+    private static boolean header(int[] elemInfo, int t) {
+        switch (elemInfo[t * 3 + 1]) {
+            case SDOGeometryEType.COMPOUND:
+            case SDOGeometryEType.COMPOUND_POLYGON:
+            case SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR:
+            case SDOGeometryEType.COMPOUND_POLYGON_INTERIOR:
+            case SDOGeometryEType.SURFACE_EXTERIOR:
+            case SDOGeometryEType.SURFACE_INTERIOR:
+            case SDOGeometryEType.COMPOSITE_SOLID:
+                return true;
+            case SDOGeometryEType.SOLID:
+                return elemInfo[t * 3 + 2] == 1;
+            default:
+                return false;
+        }
+    }
+
+    /** Index after the last ordinate of triplet: the next larger offset or the array end. */
+    private static int end(int[] elemInfo, int t, final int LENGTH) {
+        final int OFFSET = elemInfo[t * 3];
+        for (int i = (t + 1) * 3; i < elemInfo.length; i += 3) {
+            if (elemInfo[i] > OFFSET) {
+                return elemInfo[i] - 1;
+            }
+        }
+        return LENGTH;
+    }
+
+    private static int line(final int INTERPRETATION, final int POINTS) {
+        switch (INTERPRETATION) {
+            case 1:
+                return POINTS < 2 ? LINE_TOO_SHORT : VALID;
+            case 2:
+                return POINTS < 3 ? ARC_TOO_SHORT : POINTS % 2 == 0 ? INVALID_ORDINATES : VALID;
+            default:
+                return INVALID_ELEM_INFO;
+        }
+    }
+
+    private static int ring(
+            final int INTERPRETATION, double[] ordinates, int START, int END, final int D) {
+        final int POINTS = (END - START) / D;
+        switch (INTERPRETATION) {
+            case 1:
+                if (POINTS < 4) {
+                    return POLYGON_TOO_SHORT;
+                }
+                return closed(ordinates, START, END - D) ? VALID : RING_NOT_CLOSED;
+            case 2:
+                if (POINTS < 3) {
+                    return ARC_TOO_SHORT;
+                }
+                if (POINTS % 2 == 0) {
+                    return INVALID_ORDINATES;
+                }
+                return closed(ordinates, START, END - D) ? VALID : RING_NOT_CLOSED;
+            case 3:
+                return POINTS == 2 ? VALID : INVALID_ORDINATES;
+            case 4:
+                return POINTS == 3 ? VALID : INVALID_ORDINATES;
+            default:
+                return INVALID_ELEM_INFO;
+        }
+    }
+
+    /** Compares x and y of two coordinates, measures may differ. */
+    private static boolean closed(double[] ordinates, int first, int last) {
+        return ordinates[first] == ordinates[last] && ordinates[first + 1] == ordinates[last + 1];
+    }
+
+    /** ETYPE allowed at the top level of a geometry of type TT. */
+    private static boolean allowed(final int TT, final int ETYPE) {
+        switch (TT) {
+            case SDOGeometryType.POINT:
+            case SDOGeometryType.MULTIPOINT:
+                return ETYPE == SDOGeometryEType.POINT;
+            case SDOGeometryType.LINE:
+            case SDOGeometryType.MULTILINE:
+                return ETYPE == SDOGeometryEType.LINE || ETYPE == SDOGeometryEType.COMPOUND;
+            case SDOGeometryType.POLYGON:
+            case SDOGeometryType.MULTIPOLYGON:
+                return ETYPE == SDOGeometryEType.POLYGON
+                        || ETYPE == SDOGeometryEType.POLYGON_EXTERIOR
+                        || ETYPE == SDOGeometryEType.POLYGON_INTERIOR
+                        || ETYPE == SDOGeometryEType.COMPOUND_POLYGON
+                        || ETYPE == SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR
+                        || ETYPE == SDOGeometryEType.COMPOUND_POLYGON_INTERIOR
+                        || ETYPE == SDOGeometryEType.SURFACE_EXTERIOR;
+            case SDOGeometryType.SOLID:
+            case SDOGeometryType.MULTISOLID:
+                return ETYPE == SDOGeometryEType.SOLID
+                        || ETYPE == SDOGeometryEType.COMPOSITE_SOLID
+                        || ETYPE == SDOGeometryEType.SURFACE_EXTERIOR
+                        || ETYPE == SDOGeometryEType.SURFACE_INTERIOR
+                        || ETYPE == SDOGeometryEType.POLYGON_EXTERIOR
+                        || ETYPE == SDOGeometryEType.POLYGON_INTERIOR;
+            default: // COLLECTION
+                return true;
+        }
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import java.util.Arrays;
+
+/**
+ * Transcodes WKB, ISO or PostGIS EWKB, into SDO_GEOMETRY attributes, without decoding JTS
+ * geometries.
+ *
+ * <p>The WKB is read once, coordinates are copied into the ordinate array as they are read. The
+ * attributes are those SDOEncoder produces for the same geometry:
+ *
+ * <ul>
+ *   <li>exterior rings are written counter clockwise, interior rings clockwise, reversed in place
+ *       when needed
+ *   <li>empty parts of multi geometries and collections are skipped
+ *   <li>non LRS 2D and 3D points are returned as SDO_POINT when point optimization is on (the
+ *       default)
+ * </ul>
+ *
+ * <p>M is read as a LRS measure stored last: XYM is SDO_GTYPE 33TT, XYZM is 44TT. The SRID of
+ * EWKB is used as SDO_SRID, the provided srid otherwise.
+ *
+ * <p>The elemInfo and ordinate buffers are reused from one geometry to the next, only the
+ * returned arrays are allocated. A reader is not thread safe.
+ */
+public class SDOWKBReader {
+    private static final int WKB_POINT = 1;
+
+    private static final int WKB_LINESTRING = 2;
+
+    private static final int WKB_POLYGON = 3;
+
+    private static final int WKB_MULTIPOINT = 4;
+
+    private static final int WKB_MULTILINESTRING = 5;
+
+    private static final int WKB_MULTIPOLYGON = 6;
+
+    private static final int WKB_GEOMETRYCOLLECTION = 7;
+
+    private static final int EWKB_Z = 0x80000000;
+
+    private static final int EWKB_M = 0x40000000;
+
+    private static final int EWKB_SRID = 0x20000000;
+
+    private boolean pointOptimization = true;
+
+    private int[] elemInfo = new int[48];
+
+    /** Number of elemInfo values used */
+    private int info;
+
+    private double[] ordinates = new double[1024];
+
+    /** Number of ordinates used */
+    private int ordinate;
+
+    //
+    // WKB being read
+    //
+
+    private byte[] wkb;
+
+    private int position;
+
+    private boolean littleEndian;
+
+    /** Ordinates per coordinate */
+    private int len;
+
+    /** Z and M flags of the top level geometry, nested geometries must agree */
+    private boolean hasZ, hasM;
+
+    /** Checks if points are read as SDO_POINT. */
+    public boolean isPointOptimization() {
+        return pointOptimization;
+    }
+
+    /**
+     * Read non LRS 2D and 3D points as SDO_POINT, rather than SDO_ELEM_INFO (1,1,1) and
+     * SDO_ORDINATES.
+     */
+    public void setPointOptimization(boolean pointOptimization) {
+        this.pointOptimization = pointOptimization;
+    }
+
+    /**
+     * SDO_GEOMETRY attributes of wkb, SDO_SRID from EWKB or NULL.
+     *
+     * @param wkb WKB or EWKB bytes
+     * @return SDO_GEOMETRY attributes, <code>null</code> for null
+     * @throws IllegalArgumentException If wkb is malformed or its geometry cannot be encoded
+     */
+    public SDOGeometry read(byte[] wkb) {
+        return read(wkb, SDOUtils.SRID_NULL);
+    }
+
+    /**
+     * SDO_GEOMETRY attributes of wkb.
+     *
+     * @param wkb WKB or EWKB bytes
+     * @param srid SDO_SRID used when wkb has no SRID, <code>SDOUtils.SRID_NULL</code> or 0 for NULL
+     * @return SDO_GEOMETRY attributes, <code>null</code> for null
+     * @throws IllegalArgumentException If wkb is malformed or its geometry cannot be encoded
+     */
+    public SDOGeometry read(byte[] wkb, int srid) {
+        if (wkb == null) {
+            return null;
+        }
+        this.wkb = wkb;
+        position = 0;
+        info = 0;
+        ordinate = 0;
+        try {
+            final int TYPE = header();
+            hasZ = hasZ(TYPE);
+            hasM = hasM(TYPE);
+            int SRID = srid;
+            if ((TYPE & EWKB_SRID) != 0) {
+                SRID = readInt();
+            }
+            final int D = 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+            final int L = hasM ? D : 0;
+            final int TT = tt(TYPE);
+            len = D;
+
+            final int GTYPE = D * 1000 + L * 100 + TT;
+            if (SRID == 0) {
+                SRID = SDOUtils.SRID_NULL;
+            }
+            geometry(TT);
+            if (pointOptimization && TT == SDOGeometryType.POINT && ordinate != 0 && L == 0) {
+                double[] point = {ordinates[0], ordinates[1], D > 2 ? ordinates[2] : Double.NaN};
+                return new SDOGeometry(GTYPE, SRID, point, null, null);
+            }
+            return new SDOGeometry(
+                    GTYPE,
+                    SRID,
+                    null,
+                    Arrays.copyOf(elemInfo, info),
+                    Arrays.copyOf(ordinates, ordinate));
+        } finally {
+            this.wkb = null;
+        }
+    }
+
+    //
+    // Geometries
+    //
+
+    /** Reads the body of a geometry of type TT, its header has been read */
+    private void geometry(final int TT) {
+        switch (TT) {
+            case SDOGeometryType.POINT:
+                triplet(SDOGeometryEType.POINT, 1); // INTERPRETATION single point
+                point();
+                return;
+
+            case SDOGeometryType.LINE:
+                triplet(SDOGeometryEType.LINE, 1); // INTERPRETATION straight edges
+                coordinates();
+                return;
+
+            case SDOGeometryType.POLYGON:
+                polygon();
+                return;
+
+            case SDOGeometryType.MULTIPOINT:
+                multiPoint();
+                return;
+
+            case SDOGeometryType.MULTILINE:
+                parts(SDOGeometryType.LINE);
+                return;
+
+            case SDOGeometryType.MULTIPOLYGON:
+                parts(SDOGeometryType.POLYGON);
+                return;
+
+            case SDOGeometryType.COLLECTION:
+                parts(SDOGeometryType.UNKNOWN);
+                return;
+        }
+    }
+
+    /**
+     * Reads a point, an empty point (NaN x and y) is not written.
+     *
+     * @return number of coordinates written, 0 or 1
+     */
+    private int point() {
+        final int START = ordinate;
+        readOrdinates(1);
+        if (Double.isNaN(ordinates[START]) && Double.isNaN(ordinates[START + 1])) {
+            ordinate = START;
+            return 0;
+        }
+        return 1;
+    }
+
+    /**
+     * Rings of a polygon, exterior ring counter clockwise and interior rings clockwise.
+     *
+     * <p>A polygon with an empty exterior ring is empty: its exterior triplet is written alone.
+     */
+    private void polygon() {
+        triplet(SDOGeometryEType.POLYGON_EXTERIOR, 1);
+        final int RINGS = readCount();
+        if (RINGS == 0) {
+            return;
+        }
+        int start = ordinate;
+        int size = coordinates();
+        if (size == 0) {
+            for (int i = 1; i < RINGS; i++) {
+                coordinates();
+                ordinate = start;
+            }
+            return;
+        }
+        orient(start, size, false);
+        for (int i = 1; i < RINGS; i++) {
+            triplet(SDOGeometryEType.POLYGON_INTERIOR, 1);
+            start = ordinate;
+            size = coordinates();
+            orient(start, size, true);
+        }
+    }
+
+    /** Single triplet holding all non empty points */
+    private void multiPoint() {
+        final int TRIPLET = info;
+        triplet(SDOGeometryEType.POINT, 0);
+        final int PARTS = readCount();
+        int points = 0;
+        for (int i = 0; i < PARTS; i++) {
+            if (nested() != SDOGeometryType.POINT) {
+                throw new IllegalArgumentException("WKB MultiPoint holds non Point geometries");
+            }
+            points += point();
+        }
+        elemInfo[TRIPLET + 2] = points;
+    }
+
+    /**
+     * Parts of a multi geometry or collection, empty parts are skipped.
+     *
+     * @param EXPECTED geometry type of the parts, UNKNOWN for any
+     */
+    private void parts(final int EXPECTED) {
+        final int PARTS = readCount();
+        for (int i = 0; i < PARTS; i++) {
+            final int TT = nested();
+            if (EXPECTED != SDOGeometryType.UNKNOWN && TT != EXPECTED) {
+                throw new IllegalArgumentException(
+                        "WKB part of SDOGeometryType " + TT + " where " + EXPECTED + " expected");
+            }
+            final int INFO = info;
+            final int ORDINATE = ordinate;
+            geometry(TT);
+            if (ordinate == ORDINATE) {
+                info = INFO; // empty
+            }
+        }
+    }
+
+    /** Reverses the ring of SIZE coordinates at START if not in the expected orientation */
+    private void orient(final int START, final int SIZE, final boolean INTERIOR) {
+        if (SIZE == 0) {
+            return;
+        }
+        SDOOrdinateSlice ring = new SDOOrdinateSlice(ordinates, START, SIZE, len, hasM ? 1 : 0);
+        if (SDOCoordinates.isCCW(ring) == INTERIOR) {
+            for (int i = START, j = START + (SIZE - 1) * len; i < j; i += len, j -= len) {
+                for (int k = 0; k < len; k++) {
+                    final double swap = ordinates[i + k];
+                    ordinates[i + k] = ordinates[j + k];
+                    ordinates[j + k] = swap;
+                }
+            }
+        }
+    }
+
+    private void triplet(final int ETYPE, final int INTERPRETATION) {
+        if (info + 3 > elemInfo.length) {
+            elemInfo = Arrays.copyOf(elemInfo, elemInfo.length * 2);
+        }
+        elemInfo[info++] = ordinate + 1;
+        elemInfo[info++] = ETYPE;
+        elemInfo[info++] = INTERPRETATION;
+    }
+
+    //
+    // WKB
+    //
+
+    /** Reads byte order and type of a geometry */
+    private int header() {
+        need(5);
+        final byte ORDER = wkb[position++];
+        if (ORDER != 0 && ORDER != 1) {
+            throw new IllegalArgumentException(
+                    "WKB byte order " + ORDER + " at byte " + (position - 1) + " not supported");
+        }
+        littleEndian = ORDER == 1;
+
+        return readInt();
+    }
+
+    /** Reads the header of a nested geometry, returns its SDOGeometryType */
+    private int nested() {
+        final int TYPE = header();
+        if (hasZ(TYPE) != hasZ || hasM(TYPE) != hasM) {
+            throw new IllegalArgumentException(
+                    "WKB geometry at byte " + (position - 5) + " mixes dimensions");
+        }
+        if ((TYPE & EWKB_SRID) != 0) {
+            readInt(); // same SRID as the top level geometry
+        }
+        return tt(TYPE);
+    }
+
+    private static boolean hasZ(final int TYPE) {
+        final int ISO = (TYPE & 0xffff) / 1000;
+        return (TYPE & EWKB_Z) != 0 || ISO == 1 || ISO == 3;
+    }
+
+    private static boolean hasM(final int TYPE) {
+        final int ISO = (TYPE & 0xffff) / 1000;
+        return (TYPE & EWKB_M) != 0 || ISO == 2 || ISO == 3;
+    }
+
+    /** SDOGeometryType of a WKB geometry type */
+    private static int tt(final int TYPE) {
+        switch ((TYPE & 0xffff) % 1000) {
+            case WKB_POINT:
+                return SDOGeometryType.POINT;
+            case WKB_LINESTRING:
+                return SDOGeometryType.LINE;
+            case WKB_POLYGON:
+                return SDOGeometryType.POLYGON;
+            case WKB_MULTIPOINT:
+                return SDOGeometryType.MULTIPOINT;
+            case WKB_MULTILINESTRING:
+                return SDOGeometryType.MULTILINE;
+            case WKB_MULTIPOLYGON:
+                return SDOGeometryType.MULTIPOLYGON;
+            case WKB_GEOMETRYCOLLECTION:
+                return SDOGeometryType.COLLECTION;
+        }
+        throw new IllegalArgumentException(
+                "WKB geometry type "
+                        + (TYPE & 0xffff)
+                        + " not supported (Limitied to Point, LineString, Polygon, MultiPoint,"
+                        + " MultiLineString, MultiPolygon and GeometryCollection)");
+    }
+
+    /** Reads a count of points, rings or parts */
+    private int readCount() {
+        final int COUNT = readInt();
+        if (COUNT < 0) {
+            throw new IllegalArgumentException(
+                    "WKB count " + COUNT + " at byte " + (position - 4) + " is negative");
+        }
+        return COUNT;
+    }
+
+    /** Reads a count of coordinates followed by the coordinates, returns the count */
+    private int coordinates() {
+        final int SIZE = readCount();
+        readOrdinates(SIZE);
+
+        return SIZE;
+    }
+
+    /** Reads SIZE coordinates into ordinates */
+    private void readOrdinates(final int SIZE) {
+        final long COUNT = (long) SIZE * len;
+        need(COUNT * 8);
+        if (ordinate + COUNT > ordinates.length) {
+            ordinates =
+                    Arrays.copyOf(
+                            ordinates, (int) Math.max(ordinate + COUNT, ordinates.length * 2L));
+        }
+        for (int i = 0; i < COUNT; i++) {
+            ordinates[ordinate++] = Double.longBitsToDouble(readLong());
+        }
+    }
+
+    private int readInt() {
+        need(4);
+        final byte[] B = wkb;
+        final int P = position;
+        position += 4;
+        if (littleEndian) {
+            return (B[P] & 0xff)
+                    | (B[P + 1] & 0xff) << 8
+                    | (B[P + 2] & 0xff) << 16
+                    | (B[P + 3] & 0xff) << 24;
+        }
+        return (B[P] & 0xff) << 24
+                | (B[P + 1] & 0xff) << 16
+                | (B[P + 2] & 0xff) << 8
+                | (B[P + 3] & 0xff);
+    }
+
+    /** Eight bytes, bounds checked by the caller */
+    private long readLong() {
+        final byte[] B = wkb;
+        long bits = 0;
+        if (littleEndian) {
+            for (int i = position + 7; i >= position; i--) {
+                bits = bits << 8 | (B[i] & 0xff);
+            }
+        } else {
+            for (int i = position; i < position + 8; i++) {
+                bits = bits << 8 | (B[i] & 0xff);
+            }
+        }
+        position += 8;
+
+        return bits;
+    }
+
+    private void need(final long BYTES) {
+        if (position + BYTES > wkb.length) {
+            throw new IllegalArgumentException(
+                    "WKB of "
+                            + wkb.length
+                            + " bytes truncated, "
+                            + BYTES
+                            + " more expected at byte "
+                            + position);
+        }
+    }
+}
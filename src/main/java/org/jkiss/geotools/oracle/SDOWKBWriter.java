@@ -0,0 +1,739 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2003-2008, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.jkiss.geotools.oracle;
+
+import org.locationtech.jts.io.ByteOrderValues;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Transcodes SDO_GEOMETRY attributes into WKB, without decoding JTS geometries.
+ *
+ * <p>The bytes written are those of the geometry SDOUtils.create decodes from the same attributes:
+ *
+ * <ul>
+ *   <li>arcs, circles and compound elements are linearized with SDOCircularArcs
+ *   <li>optimized rectangles are written as five point rings
+ *   <li>interior rings (2003, 2005) are grouped with the preceding exterior ring, unordered rings
+ *       (ETYPE 3) are holes when counter clockwise
+ *   <li>rings are closed, and padded to four points, as JTS requires
+ *   <li>the LRS measure is written as M, leading custom elements (ETYPE 0) are skipped
+ * </ul>
+ *
+ * <p>ISO WKB flags Z and M in the type code (+1000, +2000). Extended WKB, as read by PostGIS,
+ * flags them in the high bits of the type and writes the SRID of the top level geometry.
+ *
+ * <p>Geometries are written into a buffer reused from one geometry to the next. Solids and
+ * surfaces are not supported.
+ *
+ * <p>A writer is not thread safe.
+ */
+public class SDOWKBWriter {
+    private static final int WKB_POINT = 1;
+
+    private static final int WKB_LINESTRING = 2;
+
+    private static final int WKB_POLYGON = 3;
+
+    private static final int WKB_MULTIPOINT = 4;
+
+    private static final int WKB_MULTILINESTRING = 5;
+
+    private static final int WKB_MULTIPOLYGON = 6;
+
+    private static final int WKB_GEOMETRYCOLLECTION = 7;
+
+    private static final int EWKB_Z = 0x80000000;
+
+    private static final int EWKB_M = 0x40000000;
+
+    private static final int EWKB_SRID = 0x20000000;
+
+    private final int byteOrder;
+
+    private final boolean extended;
+
+    private final SDOCircularArcs arcs;
+
+    private byte[] buffer = new byte[1024];
+
+    private int position;
+
+    /** Line or ring being written, packed like SDO_ORDINATES */
+    private double[] scratch = new double[256];
+
+    //
+    // Geometry being written
+    //
+
+    private int len;
+
+    /** Index of z in a coordinate, -1 if none */
+    private int zIndex;
+
+    /** Index of m in a coordinate, -1 if none */
+    private int mIndex;
+
+    private double[] ordinates;
+
+    private SDOElemInfo info;
+
+    /** View over ordinates for arcs and orientation, created when needed */
+    private SDOOrdinateSlice coords;
+
+    /** ISO WKB, big endian. */
+    public SDOWKBWriter() {
+        this(ByteOrderValues.BIG_ENDIAN, false);
+    }
+
+    /**
+     * Writer of the provided flavour.
+     *
+     * @param byteOrder ByteOrderValues.BIG_ENDIAN or ByteOrderValues.LITTLE_ENDIAN
+     * @param extended <code>true</code> for EWKB, <code>false</code> for ISO WKB
+     */
+    public SDOWKBWriter(int byteOrder, boolean extended) {
+        this(byteOrder, extended, SDOCircularArcs.DEFAULT);
+    }
+
+    /**
+     * Writer of the provided flavour.
+     *
+     * @param byteOrder ByteOrderValues.BIG_ENDIAN or ByteOrderValues.LITTLE_ENDIAN
+     * @param extended <code>true</code> for EWKB, <code>false</code> for ISO WKB
+     * @param arcs Used to linearize arcs and circles
+     */
+    public SDOWKBWriter(int byteOrder, boolean extended, SDOCircularArcs arcs) {
+        this.byteOrder = byteOrder;
+        this.extended = extended;
+        this.arcs = arcs;
+    }
+
+    /** WKB of the provided SDO_GEOMETRY attributes, <code>null</code> for null. */
+    public byte[] write(SDOGeometry sdo) {
+        if (sdo == null) {
+            return null;
+        }
+        return write(sdo.getGType(), sdo.getSRID(), sdo.getPoint(), sdo.getElemInfo(), sdo.getOrdinates());
+    }
+
+    /**
+     * WKB of the provided SDO_GEOMETRY attributes.
+     *
+     * @param gtype SDO_GTYPE
+     * @param srid SDO_SRID, written by EWKB when positive
+     * @param point SDO_POINT (x,y,z), used when elemInfo is null
+     * @param elemInfo SDO_ELEM_INFO
+     * @param ordinates SDO_ORDINATES
+     * @return WKB bytes
+     * @throws IllegalArgumentException If the geometry cannot be represented as WKB
+     */
+    public byte[] write(int gtype, int srid, double[] point, int[] elemInfo, double[] ordinates) {
+        encode(gtype, srid, point, elemInfo, ordinates);
+
+        return Arrays.copyOf(buffer, position);
+    }
+
+    /**
+     * Writes the WKB of the provided SDO_GEOMETRY attributes to out.
+     *
+     * @throws IllegalArgumentException If the geometry cannot be represented as WKB
+     */
+    public void write(
+            int gtype, int srid, double[] point, int[] elemInfo, double[] ordinates, OutputStream out)
+            throws IOException {
+        encode(gtype, srid, point, elemInfo, ordinates);
+        out.write(buffer, 0, position);
+    }
+
+    private void encode(
+            final int GTYPE, final int SRID, double[] point, int[] elemInfo, double[] ordinates) {
+        final int D = SDOUtils.D(GTYPE);
+        final int L = SDOUtils.L(GTYPE);
+        if (D < 2 || (L != 0 && (L < 3 || L > D))) {
+            throw new IllegalArgumentException("SDO_GTYPE " + GTYPE + " not supported");
+        }
+        len = D;
+        zIndex = D >= 3 && L != 3 ? 2 : (D == 4 && L == 3 ? 3 : -1);
+        mIndex = L - 1;
+        position = 0;
+        coords = null;
+
+        final int TT = SDOUtils.TT(GTYPE);
+        if (elemInfo == null) {
+            if (TT != SDOGeometryType.POINT || point == null || L != 0) {
+                throw new IllegalArgumentException("SDO_ELEM_INFO required for SDO_GTYPE " + GTYPE);
+            }
+            // Single Point Type Optimization
+            header(WKB_POINT, SRID);
+            coordinate(point, 0);
+            return;
+        }
+        if (SDOSolidDecoder.isSolid(GTYPE, elemInfo, 0)) {
+            throw new IllegalArgumentException(
+                    "SDO_GTYPE " + GTYPE + " solids and surfaces not supported by WKB transcoding");
+        }
+        this.ordinates = ordinates;
+        this.info = new SDOElemInfo(elemInfo, D, ordinates != null ? ordinates.length / D : 0);
+
+        int t = 0;
+        while (info.etype(t) == SDOGeometryEType.CUSTOM) {
+            t++; // custom elements are skipped, as by SDOUtils.create
+        }
+        switch (TT) {
+            case SDOGeometryType.POINT:
+                point(t, SRID);
+                return;
+
+            case SDOGeometryType.LINE:
+                line(t, SRID);
+                return;
+
+            case SDOGeometryType.POLYGON:
+                polygon(t, SRID);
+                return;
+
+            case SDOGeometryType.MULTIPOINT:
+                multiPoint(t, SRID);
+                return;
+
+            case SDOGeometryType.MULTILINE:
+                multiLine(t, SRID);
+                return;
+
+            case SDOGeometryType.MULTIPOLYGON:
+                multiPolygon(t, SRID);
+                return;
+
+            case SDOGeometryType.COLLECTION:
+                collection(t, SRID);
+                return;
+        }
+        throw new IllegalArgumentException(
+                "SDO_GTYPE " + GTYPE + " not representable as a WKB geometry");
+    }
+
+    //
+    // Geometries
+    //
+
+    private void point(final int t, final int SRID) {
+        if (info.etype(t) != SDOGeometryEType.POINT) {
+            throw new IllegalArgumentException(
+                    "SDOGeometryEType " + info.etype(t) + " inconsistent with expected POINT");
+        }
+        if (info.interpretation(t) != 1) {
+            throw new IllegalArgumentException(
+                    "POINT INTERPRETATION " + info.interpretation(t) + " not supported");
+        }
+        checkOffset(t);
+        header(WKB_POINT, SRID);
+        coordinate(ordinates, info.start(t) * len);
+    }
+
+    /** MultiPoint of consecutive point clusters from t */
+    private void multiPoint(int t, final int SRID) {
+        if (info.etype(t) != SDOGeometryEType.POINT) {
+            throw new IllegalArgumentException(
+                    "SDOGeometryEType " + info.etype(t) + " inconsistent with expected POINT");
+        }
+        header(WKB_MULTIPOINT, SRID);
+        final int COUNT = reserve();
+        int count = 0;
+        for (; info.etype(t) == SDOGeometryEType.POINT && info.interpretation(t) >= 1; t++) {
+            count += points(t);
+        }
+        patch(COUNT, count);
+    }
+
+    /** Points of the cluster at t, each with its own header */
+    private int points(final int t) {
+        checkOffset(t);
+        final int START = info.start(t);
+        final int N = info.interpretation(t);
+        if (START + N > ordinates.length / len) {
+            throw new IllegalArgumentException(
+                    "ELEM_INFO STARTING_OFFSET "
+                            + info.offset(t)
+                            + " with "
+                            + N
+                            + " points inconsistent with ORDINATES length "
+                            + ordinates.length);
+        }
+        for (int i = 0; i < N; i++) {
+            header(WKB_POINT, 0);
+            coordinate(ordinates, (START + i) * len);
+        }
+        return N;
+    }
+
+    /** @return triplet following the line */
+    private int line(final int t, final int SRID) {
+        final int N = lineCoordinates(t);
+        if (N == 1) {
+            throw new IllegalArgumentException(
+                    "Invalid number of points in LineString (found 1 - must be 0 or >= 2)");
+        }
+        header(WKB_LINESTRING, SRID);
+        putInt(N);
+        coordinates(N);
+
+        return info.next(t);
+    }
+
+    private void multiLine(int t, final int SRID) {
+        if (!isLine(info.etype(t))) {
+            throw new IllegalArgumentException(
+                    "SDOGeometryEType " + info.etype(t) + " inconsistent with expected LINE");
+        }
+        header(WKB_MULTILINESTRING, SRID);
+        final int COUNT = reserve();
+        int count = 0;
+        while (t < info.size && isLine(info.etype(t))) {
+            t = line(t, 0);
+            count++;
+        }
+        patch(COUNT, count);
+    }
+
+    /**
+     * Polygon with its exterior ring at t, followed by its interior rings.
+     *
+     * @return triplet following the polygon
+     */
+    private int polygon(int t, final int SRID) {
+        final int ETYPE = info.etype(t);
+        if (!isPolygon(ETYPE)) {
+            throw new IllegalArgumentException(
+                    "SDOGeometryEType "
+                            + ETYPE
+                            + " must be expected POLYGON or POLYGON_EXTERIOR");
+        }
+        final int N = ringCoordinates(t);
+        header(WKB_POLYGON, SRID);
+        final int COUNT = reserve();
+        ring(N);
+        int rings = 1;
+        t = info.next(t);
+        HOLES:
+        while (t < info.size) {
+            final int HOLE = info.etype(t);
+            if (HOLE == SDOGeometryEType.POLYGON_INTERIOR
+                    || HOLE == SDOGeometryEType.COMPOUND_POLYGON_INTERIOR) {
+                ring(ringCoordinates(t));
+            } else if (HOLE == SDOGeometryEType.POLYGON) {
+                final int SIZE = ringCoordinates(t);
+                if (!SDOCoordinates.isCCW(new SDOOrdinateSlice(scratch, 0, SIZE, len, measures()))) {
+                    break HOLES; // exterior ring of the next polygon
+                }
+                ring(SIZE);
+            } else {
+                break HOLES;
+            }
+            rings++;
+            t = info.next(t);
+        }
+        patch(COUNT, rings);
+
+        return t;
+    }
+
+    private void multiPolygon(int t, final int SRID) {
+        if (!isPolygon(info.etype(t))) {
+            throw new IllegalArgumentException(
+                    "SDOGeometryEType "
+                            + info.etype(t)
+                            + " inconsistent with expected POLYGON or POLYGON_EXTERIOR");
+        }
+        header(WKB_MULTIPOLYGON, SRID);
+        final int COUNT = reserve();
+        int count = 0;
+        while (t < info.size && isPolygon(info.etype(t))) {
+            t = polygon(t, 0);
+            count++;
+        }
+        patch(COUNT, count);
+    }
+
+    private void collection(int t, final int SRID) {
+        header(WKB_GEOMETRYCOLLECTION, SRID);
+        final int COUNT = reserve();
+        int count = 0;
+        while (t < info.size) {
+            final int ETYPE = info.etype(t);
+            if (ETYPE == SDOGeometryEType.POINT && info.interpretation(t) == 1) {
+                point(t, 0);
+                t++;
+            } else if (ETYPE == SDOGeometryEType.POINT && info.interpretation(t) > 1) {
+                header(WKB_MULTIPOINT, 0);
+                final int POINTS = reserve();
+                patch(POINTS, points(t));
+                t++;
+            } else if (isLine(ETYPE)) {
+                t = line(t, 0);
+            } else if (isPolygon(ETYPE) && ETYPE != SDOGeometryEType.FACE_EXTERIOR) {
+                t = polygon(t, 0);
+            } else {
+                throw new IllegalArgumentException(
+                        "SDOGeometryEType "
+                                + ETYPE
+                                + " INTERPRETATION "
+                                + info.interpretation(t)
+                                + " not representable in a WKB GeometryCollection");
+            }
+            count++;
+        }
+        patch(COUNT, count);
+    }
+
+    private static boolean isLine(final int ETYPE) {
+        return ETYPE == SDOGeometryEType.LINE || ETYPE == SDOGeometryEType.COMPOUND;
+    }
+
+    /** ETYPEs starting a polygon */
+    private static boolean isPolygon(final int ETYPE) {
+        switch (ETYPE) {
+            case SDOGeometryEType.POLYGON:
+            case SDOGeometryEType.POLYGON_EXTERIOR:
+            case SDOGeometryEType.COMPOUND_POLYGON:
+            case SDOGeometryEType.COMPOUND_POLYGON_EXTERIOR:
+            case SDOGeometryEType.FACE_EXTERIOR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    //
+    // Coordinates
+    //
+
+    /** Fills scratch with the coordinates of the line at t, returns their number */
+    private int lineCoordinates(final int t) {
+        final int ETYPE = info.etype(t);
+        final int INTERPRETATION = info.interpretation(t);
+        checkOffset(t);
+        if (ETYPE == SDOGeometryEType.COMPOUND) {
+            return compound(t);
+        }
+        if (ETYPE == SDOGeometryEType.LINE && INTERPRETATION == 1) {
+            return copy(info.start(t), info.end(t));
+        }
+        if (ETYPE == SDOGeometryEType.LINE && INTERPRETATION == 2) {
+            return arcString(info.start(t), info.end(t));
+        }
+        throw new IllegalArgumentException(
+                "ELEM_INFO SDOGeometryEType "
+                        + ETYPE
+                        + " with INTERPRETAION "
+                        + INTERPRETATION
+                        + " not supported by this decoder");
+    }
+
+    /** Fills scratch with the closed ring at t, returns its number of coordinates */
+    private int ringCoordinates(final int t) {
+        final int ETYPE = info.etype(t);
+        final int INTERPRETATION = info.interpretation(t);
+        checkOffset(t);
+        final int START = info.start(t);
+        final int END = info.end(t);
+        int size;
+        if (SDOElemInfo.isCompound(ETYPE)) {
+            size = close(compound(t));
+        } else if (INTERPRETATION == 1) {
+            size = close(copy(START, END));
+        } else if (INTERPRETATION == 2) {
+            // arcs are not closed, tolerance is not considered
+            size = arcString(START, END);
+        } else if (INTERPRETATION == 3) {
+            size = rectangle(START, END);
+        } else if (INTERPRETATION == 4) {
+            if (END - START != 3) {
+                throw new IllegalArgumentException(
+                        "The coordinate sequence for the circle creation must contain 3 points, the one at hand contains "
+                                + (END - START)
+                                + " instead");
+            }
+            final boolean CLOCKWISE = ETYPE == SDOGeometryEType.POLYGON_INTERIOR;
+            size = arcs.circleSize(coords(), START);
+            ensureScratch(size);
+            arcs.circle(coords(), START, CLOCKWISE, scratch, 0, len);
+        } else {
+            throw new IllegalArgumentException(
+                    "ELEM_INFO INTERPRETAION "
+                            + INTERPRETATION
+                            + " not supported"
+                            + "for JTS Polygon Linear Rings."
+                            + "ELEM_INFO INTERPRETATION 1,2,3 and 4 are supported");
+        }
+        if (size > 0 && (size < 4 || !equals2D(0, size - 1))) {
+            throw new IllegalArgumentException(
+                    "Invalid LinearRing of " + size + " points at ELEM_INFO triplet " + (t + 1));
+        }
+        return size;
+    }
+
+    /** Copies coordinates [start, end) into scratch */
+    private int copy(final int START, final int END) {
+        final int SIZE = Math.max(END - START, 0);
+        ensureScratch(SIZE);
+        System.arraycopy(ordinates, START * len, scratch, 0, SIZE * len);
+
+        return SIZE;
+    }
+
+    /** Linearizes the arc string [start, end) into scratch */
+    private int arcString(final int START, final int END) {
+        final int SIZE = arcs.arcStringSize(coords(), START, END);
+        ensureScratch(SIZE);
+
+        return arcs.arcString(coords(), START, END, scratch, 0, len, true);
+    }
+
+    /** Five point ring of a rectangle, the added corners do not keep z or measures */
+    private int rectangle(final int START, final int END) {
+        if (END - START < 2) {
+            throw new IllegalArgumentException(
+                    "Rectangle requires 2 points, not " + (END - START));
+        }
+        ensureScratch(5);
+        final int MIN = START * len;
+        final int MAX = MIN + len;
+        Arrays.fill(scratch, 0, 5 * len, Double.NaN);
+        System.arraycopy(ordinates, MIN, scratch, 0, len);
+        scratch[len] = ordinates[MAX];
+        scratch[len + 1] = ordinates[MIN + 1];
+        System.arraycopy(ordinates, MAX, scratch, 2 * len, len);
+        scratch[3 * len] = ordinates[MIN];
+        scratch[3 * len + 1] = ordinates[MAX + 1];
+        System.arraycopy(ordinates, MIN, scratch, 4 * len, len);
+
+        return 5;
+    }
+
+    /**
+     * Concatenates the sub-elements of the compound element at t into scratch, as
+     * SDOUtils.create does.
+     */
+    private int compound(final int t) {
+        final int N = info.interpretation(t);
+        if (N < 1 || info.etype(t + N) == -1) {
+            throw new IllegalArgumentException(
+                    "ELEM_INFO compound element requires "
+                            + N
+                            + " sub-element triplets, elemInfo holds "
+                            + (info.size - t - 1));
+        }
+        final int END = info.end(t + N);
+        final int SIZE = ordinates.length / len;
+        // first pass: size and validate the sub-elements
+        int size = 1;
+        for (int i = t + 1; i <= t + N; i++) {
+            final int ETYPE = info.etype(i);
+            final int INTERPRETATION = info.interpretation(i);
+            final int start = info.start(i);
+            final int end = (i < t + N) ? info.end(i) + 1 : END;
+            if (ETYPE != SDOGeometryEType.LINE || start < 0 || end > SIZE || end - start < 2) {
+                throw new IllegalArgumentException(
+                        "ELEM_INFO compound sub-element "
+                                + (i - t)
+                                + " must be a LINE (ETYPE 2) with at least 2 points, not ETYPE "
+                                + ETYPE
+                                + " over "
+                                + (end - start)
+                                + " points");
+            }
+            if (INTERPRETATION == 1) {
+                size += end - start - 1;
+            } else if (INTERPRETATION == 2) {
+                size += arcs.arcStringSize(coords(), start, end) - 1;
+            } else {
+                throw new IllegalArgumentException(
+                        "ELEM_INFO compound sub-element INTERPRETATION "
+                                + INTERPRETATION
+                                + " not supported, expected 1 (straight) or 2 (arcs)");
+            }
+        }
+        // second pass: write the vertices, skipping the point shared with the previous element
+        ensureScratch(size + 1); // room for closing a ring
+        int point = 0;
+        for (int i = t + 1; i <= t + N; i++) {
+            final int start = info.start(i);
+            final int end = (i < t + N) ? info.end(i) + 1 : END;
+            final boolean first = i == t + 1;
+            if (info.interpretation(i) == 2) {
+                point = arcs.arcString(coords(), start, end, scratch, point, len, first);
+            } else {
+                final int FROM = first ? start : start + 1;
+                System.arraycopy(ordinates, FROM * len, scratch, point * len, (end - FROM) * len);
+                point += end - FROM;
+            }
+        }
+        return point;
+    }
+
+    /**
+     * Closes the ring held by scratch, padding it to four coordinates, like
+     * CoordinateSequences.ensureValidRing.
+     */
+    private int close(final int SIZE) {
+        if (SIZE == 0) {
+            return 0;
+        }
+        final int CLOSED;
+        if (SIZE <= 3) {
+            CLOSED = 4;
+        } else if (equals2D(0, SIZE - 1)) {
+            return SIZE;
+        } else {
+            CLOSED = SIZE + 1;
+        }
+        ensureScratch(CLOSED);
+        for (int i = SIZE; i < CLOSED; i++) {
+            System.arraycopy(scratch, 0, scratch, i * len, len);
+        }
+        return CLOSED;
+    }
+
+    private boolean equals2D(int i, int j) {
+        return scratch[i * len] == scratch[j * len] && scratch[i * len + 1] == scratch[j * len + 1];
+    }
+
+    private void checkOffset(final int t) {
+        final int OFFSET = info.offset(t);
+        if (OFFSET < 1 || OFFSET > info.length) {
+            throw new IllegalArgumentException(
+                    "ELEM_INFO STARTING_OFFSET "
+                            + OFFSET
+                            + " inconsistent with ORDINATES length "
+                            + info.length);
+        }
+    }
+
+    private int measures() {
+        return mIndex >= 0 ? 1 : 0;
+    }
+
+    private SDOOrdinateSlice coords() {
+        if (coords == null) {
+            coords = new SDOOrdinateSlice(ordinates, 0, ordinates.length / len, len, measures());
+        }
+        return coords;
+    }
+
+    private void ensureScratch(final int SIZE) {
+        if (scratch.length < SIZE * len) {
+            scratch = new double[Math.max(SIZE * len, scratch.length * 2)];
+        }
+    }
+
+    //
+    // WKB
+    //
+
+    private void header(final int TYPE, final int SRID) {
+        ensureCapacity(9);
+        buffer[position++] = (byte) (byteOrder == ByteOrderValues.LITTLE_ENDIAN ? 1 : 0);
+        if (extended) {
+            int type = TYPE;
+            if (zIndex >= 0) type |= EWKB_Z;
+            if (mIndex >= 0) type |= EWKB_M;
+            if (SRID > 0) type |= EWKB_SRID;
+            putInt(type);
+            if (SRID > 0) {
+                putInt(SRID);
+            }
+        } else {
+            putInt(TYPE + (zIndex >= 0 ? 1000 : 0) + (mIndex >= 0 ? 2000 : 0));
+        }
+    }
+
+    private void ring(final int SIZE) {
+        putInt(SIZE);
+        coordinates(SIZE);
+    }
+
+    /** Writes the first SIZE coordinates of scratch */
+    private void coordinates(final int SIZE) {
+        ensureCapacity(SIZE * 8 * (2 + (zIndex >= 0 ? 1 : 0) + (mIndex >= 0 ? 1 : 0)));
+        for (int i = 0, offset = 0; i < SIZE; i++, offset += len) {
+            coordinate(scratch, offset);
+        }
+    }
+
+    private void coordinate(double[] source, final int OFFSET) {
+        ensureCapacity(32);
+        putDouble(source[OFFSET]);
+        putDouble(source[OFFSET + 1]);
+        if (zIndex >= 0) {
+            putDouble(OFFSET + zIndex < source.length ? source[OFFSET + zIndex] : Double.NaN);
+        }
+        if (mIndex >= 0) {
+            putDouble(source[OFFSET + mIndex]);
+        }
+    }
+
+    /** Reserves a count, written later with patch */
+    private int reserve() {
+        final int AT = position;
+        putInt(0);
+        return AT;
+    }
+
+    private void patch(final int AT, int value) {
+        final int END = position;
+        position = AT;
+        putInt(value);
+        position = END;
+    }
+
+    private void putInt(int value) {
+        ensureCapacity(4);
+        if (byteOrder == ByteOrderValues.LITTLE_ENDIAN) {
+            buffer[position++] = (byte) value;
+            buffer[position++] = (byte) (value >> 8);
+            buffer[position++] = (byte) (value >> 16);
+            buffer[position++] = (byte) (value >> 24);
+        } else {
+            buffer[position++] = (byte) (value >> 24);
+            buffer[position++] = (byte) (value >> 16);
+            buffer[position++] = (byte) (value >> 8);
+            buffer[position++] = (byte) value;
+        }
+    }
+
+    private void putDouble(double value) {
+        final long BITS = Double.doubleToLongBits(value);
+        if (byteOrder == ByteOrderValues.LITTLE_ENDIAN) {
+            for (int shift = 0; shift < 64; shift += 8) {
+                buffer[position++] = (byte) (BITS >> shift);
+            }
+        } else {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (BITS >> shift);
+            }
+        }
+    }
+
+    private void ensureCapacity(final int BYTES) {
+        if (position + BYTES > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(position + BYTES, buffer.length * 2));
+        }
+    }
+}